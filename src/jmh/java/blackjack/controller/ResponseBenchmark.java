@@ -0,0 +1,51 @@
+package blackjack.controller;
+
+import blackjack.domain.mongo.Game;
+import blackjack.dto.GameResponse;
+import blackjack.util.GameMother;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResponseBenchmark {
+
+    // toResponse does not touch the service
+    private final GameController controller = new GameController(null);
+    private final ObjectMapper mapper = Jackson2ObjectMapperBuilder.json().build();
+
+    private Game game;
+    private GameResponse response;
+
+    @Setup
+    public void setUp() {
+        game = GameMother.startedGame("g1", 1L);
+        response = controller.toResponse(game);
+    }
+
+    @Benchmark
+    public GameResponse toResponse() {
+        return controller.toResponse(game);
+    }
+
+    @Benchmark
+    public byte[] serializeGameResponse() throws Exception {
+        return mapper.writeValueAsBytes(response);
+    }
+}
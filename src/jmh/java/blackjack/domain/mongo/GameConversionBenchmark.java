@@ -0,0 +1,60 @@
+package blackjack.domain.mongo;
+
+import blackjack.util.GameMother;
+import org.bson.Document;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/** Mapping of {@link Game} to and from BSON, as done on every read and full save. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameConversionBenchmark {
+
+    private MappingMongoConverter converter;
+    private Game game;
+    private Document document;
+
+    @Setup
+    public void setUp() {
+        MongoCustomConversions conversions = new MongoCustomConversions(List.of());
+        MongoMappingContext context = new MongoMappingContext();
+        context.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+        converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, context);
+        converter.setCustomConversions(conversions);
+        converter.afterPropertiesSet();
+
+        game = GameMother.startedGame("g1", 1L);
+        document = write();
+    }
+
+    @Benchmark
+    public Document write() {
+        Document doc = new Document();
+        converter.write(game, doc);
+        return doc;
+    }
+
+    @Benchmark
+    public Game read() {
+        return converter.read(Game.class, document);
+    }
+}
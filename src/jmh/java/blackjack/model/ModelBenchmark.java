@@ -0,0 +1,49 @@
+package blackjack.model;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ModelBenchmark {
+
+    private Hand hand;
+
+    @Setup
+    public void setUp() {
+        hand = new Hand();
+        hand.add(Card.of(Card.Suit.SPADES, Card.Rank.ACE));
+        hand.add(Card.of(Card.Suit.HEARTS, Card.Rank.SIX));
+        hand.add(Card.of(Card.Suit.CLUBS, Card.Rank.NINE));
+    }
+
+    @Benchmark
+    public int handTotal() {
+        return hand.total();
+    }
+
+    @Benchmark
+    public List<Card> deckNewShuffled() {
+        return Deck.newShuffled();
+    }
+
+    @Benchmark
+    public Shoe shoeNewShuffled() {
+        return Shoe.newShuffled();
+    }
+}
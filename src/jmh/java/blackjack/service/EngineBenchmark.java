@@ -0,0 +1,69 @@
+package blackjack.service;
+
+import blackjack.dto.PlayRequest.Action;
+import blackjack.model.Card;
+import blackjack.model.HandState;
+import blackjack.model.Outcome;
+import blackjack.model.Shoe;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EngineBenchmark {
+
+    private final BlackjackEngine engine = new BlackjackEngine();
+    private final BasicStrategy strategy = new BasicStrategy();
+    private final DealerOddsCalculator odds = new DealerOddsCalculator(200_000);
+
+    private List<Card> player;
+    private List<Card> dealer;
+    private HandState playerState;
+    private HandState dealerState;
+    private Shoe shoe;
+
+    @Setup
+    public void setUp() {
+        player = List.of(Card.of(Card.Suit.CLUBS, Card.Rank.KING), Card.of(Card.Suit.HEARTS, Card.Rank.SEVEN));
+        dealer = List.of(Card.of(Card.Suit.SPADES, Card.Rank.SIX), Card.of(Card.Suit.DIAMONDS, Card.Rank.TEN));
+        playerState = HandState.of(player);
+        dealerState = HandState.of(dealer);
+        shoe = Shoe.newShuffled();
+        shoe.setCursor(4);
+    }
+
+    @Benchmark
+    public Outcome decideOutcomeFromCards() {
+        return engine.decideOutcome(player, dealer);
+    }
+
+    @Benchmark
+    public Outcome decideOutcomeFromStates() {
+        return engine.decideOutcome(playerState, dealerState);
+    }
+
+    @Benchmark
+    public Action basicStrategyHint() {
+        return strategy.decide(playerState, dealer.get(0), true);
+    }
+
+    @Benchmark
+    public double[] dealerOddsWarm() {
+        return odds.dealerOutcomes(dealerState, shoe);
+    }
+}
@@ -0,0 +1,50 @@
+package blackjack.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/** Latencies and error count of one endpoint, safe to record from any thread. */
+class EndpointStats {
+
+    private static final long MAX_LATENCY = TimeUnit.MINUTES.toMicros(1);
+
+    final String name;
+    private final Histogram latencyMicros = new ConcurrentHistogram(MAX_LATENCY, 3);
+    private final LongAdder errors = new LongAdder();
+
+    EndpointStats(String name) {
+        this.name = name;
+    }
+
+    void record(long startNanos, boolean ok) {
+        long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos);
+        latencyMicros.recordValue(Math.min(micros, MAX_LATENCY));
+        if (!ok) {
+            errors.increment();
+        }
+    }
+
+    long count() {
+        return latencyMicros.getTotalCount();
+    }
+
+    String reportLine(double seconds) {
+        long count = count();
+        return String.format("%-16s %9d %10.1f %8.2f%% %9.2f %9.2f %9.2f %9.2f",
+                name, count, count / seconds,
+                count == 0 ? 0.0 : 100.0 * errors.sum() / count,
+                millis(50), millis(99), millis(99.9), latencyMicros.getMaxValue() / 1000.0);
+    }
+
+    private double millis(double percentile) {
+        return latencyMicros.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    static String reportHeader() {
+        return String.format("%-16s %9s %10s %9s %9s %9s %9s %9s",
+                "endpoint", "requests", "req/s", "errors", "p50 ms", "p99 ms", "p999 ms", "max ms");
+    }
+}
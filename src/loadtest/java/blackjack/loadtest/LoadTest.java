@@ -0,0 +1,199 @@
+package blackjack.loadtest;
+
+import blackjack.Application;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaderValues;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.containers.MySQLContainer;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * End-to-end load test: virtual players create a game, play it to the end with
+ * a think time between moves and now and then look at the ranking.
+ * <p>
+ * Without {@code loadtest.target} the app is started in-process against MySQL and
+ * Mongo in throwaway containers, so the run needs nothing but Docker. Settings are
+ * system properties, see {@code README.md}.
+ */
+public class LoadTest {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private final HttpClient http;
+    private final Duration thinkTime;
+    private final double rankingRatio;
+    private final String runId = Long.toString(System.currentTimeMillis(), 36);
+
+    private final EndpointStats newGame = new EndpointStats("POST /game/new");
+    private final EndpointStats play = new EndpointStats("POST play");
+    private final EndpointStats ranking = new EndpointStats("GET ranking");
+
+    LoadTest(String baseUrl, int players, Duration thinkTime, double rankingRatio) {
+        ConnectionProvider pool = ConnectionProvider.builder("loadtest").maxConnections(players).build();
+        this.http = HttpClient.create(pool).baseUrl(baseUrl)
+                .headers(h -> h.set(HttpHeaderNames.CONTENT_TYPE, HttpHeaderValues.APPLICATION_JSON));
+        this.thinkTime = thinkTime;
+        this.rankingRatio = rankingRatio;
+    }
+
+    public static void main(String[] args) throws Exception {
+        int players = Integer.getInteger("loadtest.players", 50);
+        Duration duration = Duration.parse("PT" + System.getProperty("loadtest.duration", "60s"));
+        Duration rampUp = Duration.parse("PT" + System.getProperty("loadtest.ramp-up", "5s"));
+        Duration thinkTime = Duration.ofMillis(Long.getLong("loadtest.think-time-ms", 50));
+        double rankingRatio = Double.parseDouble(System.getProperty("loadtest.ranking-ratio", "0.2"));
+        String target = System.getProperty("loadtest.target", "");
+
+        LocalStack local = target.isBlank() ? LocalStack.start() : null;
+        try {
+            String baseUrl = local != null ? local.baseUrl() : target;
+            System.out.printf("Load test against %s: %d players for %s, think time %s%n",
+                    baseUrl, players, duration, thinkTime);
+            new LoadTest(baseUrl, players, thinkTime, rankingRatio).run(players, duration, rampUp);
+        } finally {
+            if (local != null) {
+                local.stop();
+            }
+        }
+    }
+
+    void run(int players, Duration duration, Duration rampUp) {
+        long start = System.nanoTime();
+        long deadline = start + duration.toNanos();
+        Duration stagger = rampUp.dividedBy(Math.max(1, players));
+
+        Flux.range(0, players)
+                .flatMap(vp -> Mono.delay(stagger.multipliedBy(vp))
+                        .then(Mono.defer(() -> oneGame(vp)).repeat(() -> System.nanoTime() < deadline).then()),
+                        players)
+                .blockLast();
+
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.println();
+        System.out.println(EndpointStats.reportHeader());
+        long total = 0;
+        for (EndpointStats s : List.of(newGame, play, ranking)) {
+            System.out.println(s.reportLine(seconds));
+            total += s.count();
+        }
+        System.out.printf("%nTotal: %d requests in %.1f s, %.1f req/s%n", total, seconds, total / seconds);
+    }
+
+    private Mono<Void> oneGame(int vp) {
+        return think().then(call(newGame, "/game/new", Map.of("playerName", "lt-" + runId + "-" + vp)))
+                .flatMap(this::playToTheEnd)
+                .then(Mono.defer(() -> ThreadLocalRandom.current().nextDouble() < rankingRatio
+                        ? think().then(get(ranking, "/player/ranking"))
+                        : Mono.empty()));
+    }
+
+    private Mono<JsonNode> playToTheEnd(JsonNode game) {
+        if (!"PLAYER_TURN".equals(game.path("status").asText())) {
+            return Mono.just(game);
+        }
+        // Mimic the dealer: hit below 17
+        String action = game.path("playerTotal").asInt() < 17 ? "HIT" : "STAND";
+        String uri = "/game/" + game.path("id").asText() + "/play";
+        return think()
+                .then(call(play, uri, Map.of("action", action, "bet", 1)))
+                .flatMap(this::playToTheEnd);
+    }
+
+    private Mono<Void> think() {
+        return thinkTime.isZero() ? Mono.empty() : Mono.delay(thinkTime).then();
+    }
+
+    private Mono<JsonNode> call(EndpointStats stats, String uri, Object body) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return http.post().uri(uri)
+                    .send((req, out) -> out.sendByteArray(Mono.fromCallable(() -> JSON.writeValueAsBytes(body))))
+                    .responseSingle((res, content) -> content.asByteArray()
+                            .defaultIfEmpty(new byte[0])
+                            .map(bytes -> {
+                                boolean ok = res.status().code() < 400;
+                                stats.record(start, ok);
+                                return ok ? read(bytes) : JSON.missingNode();
+                            }))
+                    .onErrorResume(e -> {
+                        stats.record(start, false);
+                        return Mono.just(JSON.missingNode());
+                    });
+        });
+    }
+
+    private Mono<Void> get(EndpointStats stats, String uri) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return http.get().uri(uri)
+                    .responseSingle((res, content) -> content.asByteArray()
+                            .defaultIfEmpty(new byte[0])
+                            .doOnNext(b -> stats.record(start, res.status().code() < 400)))
+                    .onErrorResume(e -> {
+                        stats.record(start, false);
+                        return Mono.empty();
+                    })
+                    .then();
+        });
+    }
+
+    private static JsonNode read(byte[] bytes) {
+        try {
+            return JSON.readTree(bytes);
+        } catch (Exception e) {
+            return JSON.missingNode();
+        }
+    }
+
+    /** The app on a random port, backed by MySQL and Mongo containers. */
+    private record LocalStack(MySQLContainer<?> mysql, MongoDBContainer mongo, ConfigurableApplicationContext app) {
+
+        static LocalStack start() {
+            MySQLContainer<?> mysql = new MySQLContainer<>("mysql:8")
+                    .withDatabaseName("blackjack")
+                    .withUsername("root")
+                    .withPassword("root");
+            MongoDBContainer mongo = new MongoDBContainer("mongo:6");
+            mysql.start();
+            mongo.start();
+
+            String hostPort = mysql.getHost() + ":" + mysql.getMappedPort(3306) + "/blackjack";
+            Map<String, Object> props = new HashMap<>();
+            props.put("server.port", 0);
+            props.put("spring.data.mongodb.uri", mongo.getReplicaSetUrl());
+            props.put("spring.r2dbc.url", "r2dbc:pool:mysql://" + hostPort);
+            props.put("spring.r2dbc.username", mysql.getUsername());
+            props.put("spring.r2dbc.password", mysql.getPassword());
+            props.put("spring.flyway.url", "jdbc:mysql://" + hostPort);
+            props.put("spring.flyway.user", mysql.getUsername());
+            props.put("spring.flyway.password", mysql.getPassword());
+            ConfigurableApplicationContext app = new SpringApplicationBuilder(Application.class)
+                    .properties(props)
+                    .run();
+            return new LocalStack(mysql, mongo, app);
+        }
+
+        String baseUrl() {
+            return "http://localhost:" + app.getEnvironment().getProperty("local.server.port");
+        }
+
+        void stop() {
+            app.close();
+            mongo.stop();
+            mysql.stop();
+        }
+    }
+}
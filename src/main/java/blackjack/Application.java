@@ -2,11 +2,11 @@ package blackjack;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
-import org.springframework.data.mongodb.config.EnableMongoAuditing;
+import org.springframework.data.mongodb.config.EnableReactiveMongoAuditing;
 
 
 @SpringBootApplication
-@EnableMongoAuditing
+@EnableReactiveMongoAuditing
 public class Application {
 
     public static void main(String[] args) {
@@ -0,0 +1,175 @@
+package blackjack.config;
+
+import blackjack.domain.mongo.ArchivedGame;
+import blackjack.domain.mongo.Game;
+import blackjack.domain.mongo.PlayerStats;
+import blackjack.domain.mongo.Settlement;
+import blackjack.model.GameStatus;
+import jakarta.annotation.PostConstruct;
+import com.mongodb.client.result.UpdateResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.AggregationExpression;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.aggregation.ArithmeticOperators;
+import org.springframework.data.mongodb.core.aggregation.ConditionalOperators;
+import org.springframework.data.mongodb.core.aggregation.ConvertOperators;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.PartialIndexFilter;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.schema.JsonSchemaObject;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * One-off upgrades and indexes of the Mongo collections, run at startup. Each step
+ * is idempotent, so every instance can run them.
+ */
+@Component
+public class MongoSetup {
+
+    private static final Logger log = LoggerFactory.getLogger(MongoSetup.class);
+
+    private final ReactiveMongoTemplate mongo;
+    private final Duration abandonedAfter;
+
+    public MongoSetup(ReactiveMongoTemplate mongo,
+                      @Value("${blackjack.archive.abandoned-after:7d}") Duration abandonedAfter) {
+        this.mongo = mongo;
+        this.abandonedAfter = abandonedAfter;
+    }
+
+    /**
+     * Upgrades that requests depend on. They run before the server starts, so no request
+     * sees data they have not converted yet; a failure is logged and startup goes on.
+     */
+    @PostConstruct
+    void upgrade() {
+        Mono.when(
+                // Games stored before optimistic locking have no version; versioned writes would never
+                // match them, so a play on one would fail as a conflict
+                logged(mongo.updateMulti(Query.query(Criteria.where("version").exists(false)),
+                                new Update().set("version", 0L), Game.class),
+                        "Set initial version on {} games", "Could not set initial version on games"),
+                // Amounts were decimal strings of whole units before they were stored as cents.
+                // Finishing games add to totalBetCents and a stats rebuild sums the bets.
+                amountsToCents(Game.class, "bet"),
+                amountsToCents(Game.class, "settlement.amount"),
+                amountsToCents(ArchivedGame.class, "bet"),
+                // Added to, not set: a rollup may already count games finished by an upgraded instance
+                logged(mongo.updateMulti(Query.query(Criteria.where("totalBet").exists(true)),
+                                AggregationUpdate.update()
+                                        .set("totalBetCents").toValue(ArithmeticOperators
+                                                .valueOf(ConditionalOperators.ifNull("totalBetCents").then(0L))
+                                                .add(cents(ConvertOperators.valueOf("totalBet").convertToDecimal())))
+                                        .unset("totalBet"),
+                                PlayerStats.class),
+                        "Converted bet totals of {} players to cents", "Could not convert bet totals to cents"))
+                .block();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void run() {
+        // Games saved before auditing took effect lack one or both timestamps; the id holds the
+        // creation time. Each is filled on its own, so an updatedAt written by a draw is kept.
+        // The archiver and the abandoned_ttl index both go by updatedAt.
+        timeFromId(Game.class, "createdAt");
+        timeFromId(Game.class, "updatedAt");
+        // Archived from games that had none; history pages on createdAt of both collections
+        timeFromId(ArchivedGame.class, "createdAt");
+        timeFromId(ArchivedGame.class, "finishedAt");
+
+        // Player history, newest first, in both the live and the archived games
+        ensureIndex(Game.class, historyIndex());
+        ensureIndex(ArchivedGame.class, historyIndex());
+        // Only games whose settlement is waiting in the outbox, in the order the relay reads
+        // them, so its poll stays cheap. Replaces the index without the id.
+        dropIndex(Game.class, "settlement_outbox");
+        ensureIndex(Game.class, new Index().on("settlement.status", Sort.Direction.ASC).on("_id", Sort.Direction.ASC)
+                .partial(PartialIndexFilter.of(Criteria.where("settlement.status").is(Settlement.Status.PENDING.name())))
+                .named("settlement_outbox_by_id"));
+        // Lets the archiver find old finished games without scanning the collection
+        ensureIndex(Game.class, new Index().on("status", Sort.Direction.ASC).on("updatedAt", Sort.Direction.ASC)
+                .named("status_updatedAt"));
+        if (!abandonedAfter.isZero()) {
+            // Games left in play are deleted by Mongo itself; finished ones are for the archiver
+            ensureIndex(Game.class, new Index().on("updatedAt", Sort.Direction.ASC)
+                    .expire(abandonedAfter)
+                    .partial(PartialIndexFilter.of(Criteria.where("status").is(GameStatus.PLAYER_TURN.name())))
+                    .named("abandoned_ttl"));
+        }
+    }
+
+    private void timeFromId(Class<?> type, String field) {
+        String collection = mongo.getCollectionName(type);
+        mongo.updateMulti(Query.query(Criteria.where(field).exists(false)),
+                        AggregationUpdate.update().set(field).toValue(ConvertOperators.valueOf("_id").convertToDate()),
+                        collection)
+                .subscribe(r -> {
+                    if (r.getModifiedCount() > 0) {
+                        log.info("Set {} of {} documents in {} from their id", field, r.getModifiedCount(), collection);
+                    }
+                }, e -> log.warn("Could not set {} in {}", field, collection, e));
+    }
+
+    private Mono<Void> amountsToCents(Class<?> type, String field) {
+        String collection = mongo.getCollectionName(type);
+        return logged(mongo.updateMulti(Query.query(Criteria.where(field).type(JsonSchemaObject.Type.STRING)),
+                        AggregationUpdate.update()
+                                .set(field).toValue(cents(ConvertOperators.valueOf(field).convertToDecimal())),
+                        collection),
+                "Converted " + field + " of {} documents in " + collection + " to cents",
+                "Could not convert " + field + " in " + collection + " to cents");
+    }
+
+    private static Mono<Void> logged(Mono<UpdateResult> update, String done, String failed) {
+        return update
+                .doOnNext(r -> {
+                    if (r.getModifiedCount() > 0) {
+                        log.info(done, r.getModifiedCount());
+                    }
+                })
+                .onErrorResume(e -> {
+                    log.warn(failed, e);
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    private static AggregationExpression cents(AggregationExpression units) {
+        return ConvertOperators.valueOf(ArithmeticOperators.valueOf(units).multiplyBy(100)).convertToLong();
+    }
+
+    private static Index historyIndex() {
+        return new Index().on("playerId", Sort.Direction.ASC)
+                .on("createdAt", Sort.Direction.DESC)
+                .on("_id", Sort.Direction.DESC)
+                .named("player_history");
+    }
+
+    private void dropIndex(Class<?> type, String name) {
+        String collection = mongo.getCollectionName(type);
+        mongo.indexOps(type).getIndexInfo()
+                .filter(info -> info.getName().equals(name))
+                .concatMap(info -> mongo.indexOps(type).dropIndex(name))
+                .subscribe(null, e -> log.warn("Could not drop index {} on {}", name, collection, e),
+                        () -> log.debug("Index {} on {} is gone", name, collection));
+    }
+
+    private void ensureIndex(Class<?> type, Index index) {
+        String collection = mongo.getCollectionName(type);
+        // Fails if an index of the same name exists with other options, e.g. an older TTL
+        mongo.indexOps(type).ensureIndex(index)
+                .subscribe(name -> log.debug("Index {} on {} is in place", name, collection),
+                        e -> log.warn("Could not create index on {}: {}", collection, index.getIndexOptions(), e));
+    }
+}
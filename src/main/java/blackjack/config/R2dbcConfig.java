@@ -0,0 +1,48 @@
+package blackjack.config;
+
+import blackjack.model.Money;
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.data.convert.ReadingConverter;
+import org.springframework.data.convert.WritingConverter;
+import org.springframework.data.r2dbc.convert.R2dbcCustomConversions;
+import org.springframework.data.r2dbc.dialect.DialectResolver;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Maps {@link Money} to the {@code DECIMAL(12,2)} columns of MySQL, for entity
+ * properties and query parameters alike.
+ */
+@Configuration
+public class R2dbcConfig {
+
+    @Bean
+    public R2dbcCustomConversions r2dbcCustomConversions(ConnectionFactory connectionFactory) {
+        return R2dbcCustomConversions.of(DialectResolver.getDialect(connectionFactory),
+                List.of(MoneyToDecimal.INSTANCE, DecimalToMoney.INSTANCE));
+    }
+
+    @WritingConverter
+    enum MoneyToDecimal implements Converter<Money, BigDecimal> {
+        INSTANCE;
+
+        @Override
+        public BigDecimal convert(Money source) {
+            return source.toBigDecimal();
+        }
+    }
+
+    @ReadingConverter
+    enum DecimalToMoney implements Converter<BigDecimal, Money> {
+        INSTANCE;
+
+        @Override
+        public Money convert(BigDecimal source) {
+            return Money.of(source);
+        }
+    }
+}
@@ -1,11 +1,15 @@
 package blackjack.controller;
 
 import blackjack.domain.mongo.Game;
+import blackjack.dto.BatchPlayRequest;
+import blackjack.dto.BatchResult;
 import blackjack.dto.GameResponse;
+import blackjack.dto.HintResponse;
 import blackjack.dto.NewGameRequest;
 import blackjack.dto.PlayRequest;
 import blackjack.exception.ApiError;
-import blackjack.model.Hand;
+import blackjack.exception.GlobalExceptionHandler;
+import blackjack.service.BatchItem;
 import blackjack.service.GameService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -14,10 +18,14 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/game")
 @Tag(name = "Game", description = "Operations related to Blackjack games")
@@ -46,6 +54,33 @@ public class GameController {
                 .map(body -> ResponseEntity.status(HttpStatus.CREATED).body(body));
     }
 
+    @Operation(
+            summary = "Create many games in one request, streaming one result per line (NDJSON)",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "One result per item, in completion order"),
+                    @ApiResponse(responseCode = "400", description = "Too many items",
+                            content = @Content(schema = @Schema(implementation = ApiError.class)))
+            }
+    )
+    @PostMapping(value = "/batch/new", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<BatchResult> newGames(@RequestBody List<NewGameRequest> requests) {
+        return service.createNewGames(requests.stream().map(NewGameRequest::getPlayerName).toList())
+                .map(this::toResult);
+    }
+
+    @Operation(
+            summary = "Play many moves in one request, streaming one result per line (NDJSON)",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "One result per item, in completion order"),
+                    @ApiResponse(responseCode = "400", description = "Too many items",
+                            content = @Content(schema = @Schema(implementation = ApiError.class)))
+            }
+    )
+    @PostMapping(value = "/batch/play", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<BatchResult> playAll(@RequestBody List<BatchPlayRequest> requests) {
+        return service.playAll(requests).map(this::toResult);
+    }
+
     @Operation(
             summary = "Get an existing Blackjack game by ID",
             responses = {
@@ -55,8 +90,27 @@ public class GameController {
             }
     )
     @GetMapping("/{id}")
-    public Mono<GameResponse> get(@PathVariable String id) {
-        return service.get(id).map(this::toResponse);
+    public Mono<GameResponse> get(@PathVariable String id,
+                                  @RequestParam(defaultValue = "false") boolean odds) {
+        // Odds need the cards left in the shoe; otherwise the shoe is not even read
+        return (odds ? service.get(id) : service.getView(id)).map(g -> toResponse(g, odds));
+    }
+
+    @Operation(
+            summary = "Recommended basic-strategy move for an active Blackjack game",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Hint computed successfully"),
+                    @ApiResponse(responseCode = "400", description = "Game already finished",
+                            content = @Content(schema = @Schema(implementation = ApiError.class))),
+                    @ApiResponse(responseCode = "404", description = "Game not found",
+                            content = @Content(schema = @Schema(implementation = ApiError.class)))
+            }
+    )
+    @GetMapping("/{id}/hint")
+    public Mono<HintResponse> hint(@PathVariable String id) {
+        return service.getInPlay(id)
+                .map(g -> new HintResponse(g.getId(), service.hint(g), g.getPlayerState().getTotal(),
+                        g.getPlayerState().isSoft(), g.getDealerHand().get(0).value()));
     }
 
     @Operation(
@@ -70,8 +124,9 @@ public class GameController {
             }
     )
     @PostMapping("/{id}/play")
-    public Mono<GameResponse> play(@PathVariable String id, @Valid @RequestBody PlayRequest request) {
-        return service.play(id, request).map(this::toResponse);
+    public Mono<GameResponse> play(@PathVariable String id, @Valid @RequestBody PlayRequest request,
+                                   @RequestParam(defaultValue = "false") boolean odds) {
+        return service.play(id, request).map(g -> toResponse(g, odds));
     }
 
     @Operation(
@@ -88,11 +143,23 @@ public class GameController {
         return service.delete(id);
     }
 
-    private GameResponse toResponse(Game g) {
-        Hand ph = new Hand();
-        ph.setCards(g.getPlayerHand());
-        Hand dh = new Hand();
-        dh.setCards(g.getDealerHand());
+    private BatchResult toResult(BatchItem<Game> item) {
+        if (item.error() != null) {
+            HttpStatus status = GlobalExceptionHandler.statusOf(item.error());
+            return new BatchResult(item.index(), status.value(), null, item.error().getMessage());
+        }
+        return new BatchResult(item.index(), HttpStatus.OK.value(), toResponse(item.value()), null);
+    }
+
+    private GameResponse toResponse(Game g, boolean odds) {
+        GameResponse r = toResponse(g);
+        if (odds) {
+            r.setOdds(service.odds(g));
+        }
+        return r;
+    }
+
+    GameResponse toResponse(Game g) {
         return new GameResponse(
                 g.getId(),
                 g.getPlayerId(),
@@ -101,8 +168,8 @@ public class GameController {
                 g.getBet(),
                 g.getStatus(),
                 g.getOutcome(),
-                ph.total(),
-                dh.total()
+                g.getPlayerState().getTotal(),
+                g.getDealerState().getTotal()
         );
     }
 }
@@ -1,29 +1,42 @@
 package blackjack.controller;
 
 import blackjack.domain.mysql.Player;
+import blackjack.dto.GameHistoryEntry;
+import blackjack.dto.PlayerStatistics;
 import blackjack.dto.PlayerRenameRequest;
 import blackjack.dto.PlayerRanking;
+import blackjack.dto.RankingPage;
 import blackjack.exception.ApiError;
+import blackjack.service.GameService;
 import blackjack.service.PlayerService;
+import blackjack.service.StatisticsService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/player")
 @Tag(name = "Player", description = "Player Management and Blackjack Ranking")
 public class PlayerController {
 
     private final PlayerService service;
+    private final GameService games;
+    private final StatisticsService statistics;
 
-    public PlayerController(PlayerService service) {
+    public PlayerController(PlayerService service, GameService games, StatisticsService statistics) {
         this.service = service;
+        this.games = games;
+        this.statistics = statistics;
     }
 
     @Operation(
@@ -41,6 +54,55 @@ public class PlayerController {
         return service.changeName(playerId, request.getNewName());
     }
 
+    @Operation(
+            summary = "Stream a player's games, newest first",
+            description = "Includes archived games. Sent as NDJSON, or as Server-Sent Events when asked for "
+                    + "text/event-stream. Every entry carries a cursor; pass it as `after` to resume right after it.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "History stream opened"),
+                    @ApiResponse(responseCode = "400", description = "Invalid cursor or limit",
+                            content = @Content(schema = @Schema(implementation = ApiError.class))),
+                    @ApiResponse(responseCode = "404", description = "Player not found",
+                            content = @Content(schema = @Schema(implementation = ApiError.class)))
+            }
+    )
+    @GetMapping(value = "/{playerId}/games",
+            produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    public Flux<GameHistoryEntry> games(@PathVariable Long playerId,
+                                        @RequestParam(required = false) String after,
+                                        @RequestParam(defaultValue = "0") int limit) {
+        return games.history(playerId, after, limit);
+    }
+
+    @Operation(
+            summary = "Game statistics of a player",
+            description = "Outcome counts, blackjack, bust and double-down win rates and average bet, "
+                    + "read from a per-player rollup.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Statistics retrieved successfully"),
+                    @ApiResponse(responseCode = "404", description = "Player not found",
+                            content = @Content(schema = @Schema(implementation = ApiError.class)))
+            }
+    )
+    @GetMapping("/{playerId}/stats")
+    public Mono<PlayerStatistics> stats(@PathVariable Long playerId) {
+        return statistics.get(playerId);
+    }
+
+    @Operation(
+            summary = "Recompute statistics from the stored games",
+            description = "For one player when playerId is given, otherwise for all of them. "
+                    + "Runs as an aggregation on Mongo over live and archived games.",
+            responses = {
+                    @ApiResponse(responseCode = "204", description = "Statistics rebuilt")
+            }
+    )
+    @PostMapping("/stats/rebuild")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public Mono<Void> rebuildStats(@RequestParam(required = false) Long playerId) {
+        return statistics.rebuild(playerId);
+    }
+
     @Operation(
             summary = "Get top 20 player rankings ordered by wins",
             responses = {
@@ -51,4 +113,33 @@ public class PlayerController {
     public Flux<PlayerRanking> ranking() {
         return service.ranking();
     }
+
+    @Operation(
+            summary = "Page through the full player ranking",
+            description = "Sorted by WINS, BALANCE or GAMES_PLAYED, highest first, ties by player ID. "
+                    + "Pass the `next` cursor of a page as `after` to get the following one.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Ranking page retrieved successfully"),
+                    @ApiResponse(responseCode = "400", description = "Unknown sort, bad page size or invalid cursor",
+                            content = @Content(schema = @Schema(implementation = ApiError.class)))
+            }
+    )
+    @GetMapping("/ranking/page")
+    public Mono<RankingPage> rankingPage(@RequestParam(defaultValue = "WINS") String sort,
+                                         @RequestParam(required = false) String after,
+                                         @RequestParam(defaultValue = "20") int size) {
+        return service.rankingPage(sort, after, size);
+    }
+
+    @Operation(
+            summary = "Stream the top 20 ranking as Server-Sent Events",
+            description = "Sends the current ranking on subscribe and a new snapshot only when it changes.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Ranking stream opened")
+            }
+    )
+    @GetMapping(value = "/ranking/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<List<PlayerRanking>> rankingStream() {
+        return service.rankingUpdates();
+    }
 }
@@ -0,0 +1,43 @@
+package blackjack.controller;
+
+import blackjack.dto.SimulationReport;
+import blackjack.dto.SimulationRequest;
+import blackjack.exception.ApiError;
+import blackjack.service.SimulationService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+
+@RestController
+@RequestMapping("/simulation")
+@Tag(name = "Simulation", description = "Offline Monte Carlo simulation of many hands")
+public class SimulationController {
+
+    private final SimulationService service;
+
+    public SimulationController(SimulationService service) {
+        this.service = service;
+    }
+
+    @Operation(
+            summary = "Simulate hands with a rule set and strategy, streaming progress as Server-Sent Events",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Progress reports, the last one with the results"),
+                    @ApiResponse(responseCode = "400", description = "Invalid request",
+                            content = @Content(schema = @Schema(implementation = ApiError.class)))
+            }
+    )
+    @PostMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<SimulationReport> simulate(@Valid @RequestBody SimulationRequest request) {
+        return service.run(request);
+    }
+}
@@ -0,0 +1,86 @@
+package blackjack.domain.mongo;
+
+import blackjack.model.Card;
+import blackjack.model.Money;
+import blackjack.model.Outcome;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.convert.ValueConverter;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * A finished game as kept in the archive: final hands as card bytes with their totals,
+ * the bet and the outcome. The shoe, soft-ace counts and version of the live game are
+ * dropped.
+ */
+@Document(ArchivedGame.COLLECTION)
+public class ArchivedGame {
+
+    public static final String COLLECTION = "games_archive";
+
+    @Id
+    private String id;
+
+    private Long playerId;
+
+    @ValueConverter(CardsConverter.class)
+    private List<Card> playerHand;
+    @ValueConverter(CardsConverter.class)
+    private List<Card> dealerHand;
+
+    private int playerTotal;
+    private int dealerTotal;
+
+    @ValueConverter(MoneyConverter.class)
+    private Money bet;
+    private boolean doubled;
+    private Outcome outcome;
+
+    private Instant createdAt;
+    private Instant finishedAt;
+
+    public ArchivedGame() {}
+
+    public static ArchivedGame from(Game g) {
+        ArchivedGame a = new ArchivedGame();
+        a.id = g.getId();
+        a.playerId = g.getPlayerId();
+        a.playerHand = g.getPlayerHand();
+        a.dealerHand = g.getDealerHand();
+        a.playerTotal = g.getPlayerState().getTotal();
+        a.dealerTotal = g.getDealerState().getTotal();
+        a.bet = g.getBet();
+        a.doubled = g.isDoubled();
+        a.outcome = g.getOutcome();
+        a.createdAt = g.getCreatedAt();
+        // A finished game is never written again, so its last update is when it ended
+        a.finishedAt = g.getUpdatedAt();
+        return a;
+    }
+
+    // getters and setters
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+    public Long getPlayerId() { return playerId; }
+    public void setPlayerId(Long playerId) { this.playerId = playerId; }
+    public List<Card> getPlayerHand() { return playerHand; }
+    public void setPlayerHand(List<Card> playerHand) { this.playerHand = playerHand; }
+    public List<Card> getDealerHand() { return dealerHand; }
+    public void setDealerHand(List<Card> dealerHand) { this.dealerHand = dealerHand; }
+    public int getPlayerTotal() { return playerTotal; }
+    public void setPlayerTotal(int playerTotal) { this.playerTotal = playerTotal; }
+    public int getDealerTotal() { return dealerTotal; }
+    public void setDealerTotal(int dealerTotal) { this.dealerTotal = dealerTotal; }
+    public Money getBet() { return bet; }
+    public void setBet(Money bet) { this.bet = bet; }
+    public boolean isDoubled() { return doubled; }
+    public void setDoubled(boolean doubled) { this.doubled = doubled; }
+    public Outcome getOutcome() { return outcome; }
+    public void setOutcome(Outcome outcome) { this.outcome = outcome; }
+    public Instant getCreatedAt() { return createdAt; }
+    public void setCreatedAt(Instant createdAt) { this.createdAt = createdAt; }
+    public Instant getFinishedAt() { return finishedAt; }
+    public void setFinishedAt(Instant finishedAt) { this.finishedAt = finishedAt; }
+}
@@ -0,0 +1,64 @@
+package blackjack.domain.mongo;
+
+import blackjack.model.Card;
+import org.bson.Document;
+import org.bson.types.Binary;
+import org.springframework.data.convert.PropertyValueConverter;
+import org.springframework.data.mongodb.core.convert.MongoConversionContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Stores a pile of cards as a single BSON binary field, one byte per card
+ * ({@code suit * 13 + rank}). Piles written as a list of {@code {suit, rank}}
+ * subdocuments by older versions are still readable.
+ */
+public class CardsConverter implements PropertyValueConverter<List<Card>, Object, MongoConversionContext> {
+
+    @Override
+    public List<Card> read(Object value, MongoConversionContext context) {
+        return decode(value);
+    }
+
+    @Override
+    public Object write(List<Card> value, MongoConversionContext context) {
+        return new Binary(encode(value));
+    }
+
+    public static byte[] encode(List<Card> cards) {
+        byte[] bytes = new byte[cards.size()];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) cards.get(i).ordinal();
+        }
+        return bytes;
+    }
+
+    public static List<Card> decode(Object value) {
+        if (value instanceof Binary binary) {
+            return decode(binary.getData());
+        }
+        if (value instanceof byte[] bytes) {
+            return decode(bytes);
+        }
+        if (value instanceof List<?> legacy) {
+            List<Card> cards = new ArrayList<>(legacy.size());
+            for (Object o : legacy) {
+                Document d = (Document) o;
+                cards.add(Card.of(
+                        Card.Suit.valueOf(d.getString("suit")),
+                        Card.Rank.valueOf(d.getString("rank"))));
+            }
+            return cards;
+        }
+        throw new IllegalArgumentException("Cannot read cards from " + value.getClass().getName());
+    }
+
+    private static List<Card> decode(byte[] bytes) {
+        List<Card> cards = new ArrayList<>(bytes.length);
+        for (byte b : bytes) {
+            cards.add(Card.ofOrdinal(b));
+        }
+        return cards;
+    }
+}
@@ -2,14 +2,19 @@ package blackjack.domain.mongo;
 
 import blackjack.model.Card;
 import blackjack.model.GameStatus;
+import blackjack.model.HandState;
+import blackjack.model.Money;
 import blackjack.model.Outcome;
+import blackjack.model.Shoe;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.annotation.Transient;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.convert.ValueConverter;
 import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
-import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
@@ -20,17 +25,32 @@ public class Game {
     @Id
     private String id;
 
+    @Version
+    private Long version;
+
     @Indexed
     private Long playerId;
 
-    private List<Card> deck = new ArrayList<>();
+    private Shoe shoe = new Shoe();
+    // Loaded from an old document whose cards are still in "deck", so the shoe is not stored yet
+    @Transient
+    private boolean shoeUnsaved;
+    @ValueConverter(CardsConverter.class)
     private List<Card> playerHand = new ArrayList<>();
+    @ValueConverter(CardsConverter.class)
     private List<Card> dealerHand = new ArrayList<>();
 
-    private BigDecimal bet = BigDecimal.ZERO;
+    private HandState playerState = new HandState();
+    private HandState dealerState = new HandState();
+
+    @ValueConverter(MoneyConverter.class)
+    private Money bet = Money.ZERO;
+    private boolean doubled;
 
     private GameStatus status = GameStatus.PLAYER_TURN;
     private Outcome outcome;
+    // Outbox entry, set when the game finishes with money to move
+    private Settlement settlement;
 
     @CreatedDate
     private Instant createdAt;
@@ -43,22 +63,72 @@ public class Game {
     // getters and setters
     public String getId() { return id; }
     public void setId(String id) { this.id = id; }
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
     public Long getPlayerId() { return playerId; }
     public void setPlayerId(Long playerId) { this.playerId = playerId; }
-    public List<Card> getDeck() { return deck; }
-    public void setDeck(List<Card> deck) { this.deck = deck; }
+    public Shoe getShoe() { return shoe; }
+    public void setShoe(Shoe shoe) { this.shoe = shoe; }
+    public boolean isShoeUnsaved() { return shoeUnsaved; }
+    public void setShoeUnsaved(boolean shoeUnsaved) { this.shoeUnsaved = shoeUnsaved; }
     public List<Card> getPlayerHand() { return playerHand; }
-    public void setPlayerHand(List<Card> playerHand) { this.playerHand = playerHand; }
+    public void setPlayerHand(List<Card> playerHand) {
+        this.playerHand = playerHand;
+        this.playerState = HandState.of(playerHand);
+    }
     public List<Card> getDealerHand() { return dealerHand; }
-    public void setDealerHand(List<Card> dealerHand) { this.dealerHand = dealerHand; }
-    public BigDecimal getBet() { return bet; }
-    public void setBet(BigDecimal bet) { this.bet = bet; }
+    public void setDealerHand(List<Card> dealerHand) {
+        this.dealerHand = dealerHand;
+        this.dealerState = HandState.of(dealerHand);
+    }
+    public HandState getPlayerState() { return playerState; }
+    public void setPlayerState(HandState playerState) { this.playerState = playerState; }
+    public HandState getDealerState() { return dealerState; }
+    public void setDealerState(HandState dealerState) { this.dealerState = dealerState; }
+    public Money getBet() { return bet; }
+    public void setBet(Money bet) { this.bet = bet; }
+    public boolean isDoubled() { return doubled; }
+    public void setDoubled(boolean doubled) { this.doubled = doubled; }
     public GameStatus getStatus() { return status; }
     public void setStatus(GameStatus status) { this.status = status; }
     public Outcome getOutcome() { return outcome; }
     public void setOutcome(Outcome outcome) { this.outcome = outcome; }
+    public Settlement getSettlement() { return settlement; }
+    public void setSettlement(Settlement settlement) { this.settlement = settlement; }
     public Instant getCreatedAt() { return createdAt; }
     public void setCreatedAt(Instant createdAt) { this.createdAt = createdAt; }
     public Instant getUpdatedAt() { return updatedAt; }
     public void setUpdatedAt(Instant updatedAt) { this.updatedAt = updatedAt; }
+
+    /** Copy that shares no mutable state with this game. */
+    public Game copy() {
+        Game g = new Game();
+        g.id = id;
+        g.version = version;
+        g.playerId = playerId;
+        g.shoe = shoe == null ? null : shoe.copy();
+        g.shoeUnsaved = shoeUnsaved;
+        g.playerHand = new ArrayList<>(playerHand);
+        g.dealerHand = new ArrayList<>(dealerHand);
+        g.playerState = playerState.copy();
+        g.dealerState = dealerState.copy();
+        g.bet = bet;
+        g.doubled = doubled;
+        g.status = status;
+        g.outcome = outcome;
+        g.settlement = settlement;
+        g.createdAt = createdAt;
+        g.updatedAt = updatedAt;
+        return g;
+    }
+
+    public void addPlayerCard(Card c) {
+        playerHand.add(c);
+        playerState.add(c);
+    }
+
+    public void addDealerCard(Card c) {
+        dealerHand.add(c);
+        dealerState.add(c);
+    }
 }
@@ -2,4 +2,4 @@ package blackjack.domain.mongo;
 
 import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
 
-public interface GameRepository extends ReactiveMongoRepository<Game, String> {}
+public interface GameRepository extends ReactiveMongoRepository<Game, String>, GameRepositoryCustom {}
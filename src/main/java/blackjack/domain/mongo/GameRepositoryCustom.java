@@ -0,0 +1,52 @@
+package blackjack.domain.mongo;
+
+import org.springframework.dao.DataAccessException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+public interface GameRepositoryCustom {
+
+    /**
+     * Reads a game without its shoe, for responses that only show hands and totals.
+     * The returned game has an empty shoe, so it must not be played or saved.
+     */
+    Mono<Game> findViewById(String id);
+
+    /**
+     * A player's games, newest first ({@code createdAt} then id, both descending), read
+     * without the shoe. Starts after the game created at {@code createdBefore} with id
+     * {@code idBefore}, or at the newest when those are null. Streams from one cursor
+     * over the history index; {@code limit} 0 means no limit.
+     */
+    Flux<Game> findHistory(Long playerId, Instant createdBefore, String idBefore, int limit);
+
+    /** Same as {@link #findHistory} over the archive. */
+    Flux<ArchivedGame> findArchivedHistory(Long playerId, Instant createdBefore, String idBefore, int limit);
+
+    /**
+     * Inserts new games with one unordered bulk write, so a game that cannot be stored
+     * does not keep the others out. Completes with the error of each game that was not
+     * stored, keyed by its index in {@code games}; fails only if the write as a whole did.
+     */
+    Mono<Map<Integer, DataAccessException>> insertAll(List<Game> games);
+
+    /**
+     * Persists a draw on a game that is still in progress: only the shoe
+     * cursor, the hands, their totals and the bet are written, never the shoe cards,
+     * unless the game was loaded from a legacy deck and has no stored shoe yet.
+     * Fails with {@link org.springframework.dao.OptimisticLockingFailureException}
+     * if the stored game is no longer at {@link Game#getVersion()}.
+     */
+    Mono<Game> saveDraw(Game game);
+
+    /**
+     * Same as {@link #saveDraw(Game)} for many games, sent as one unordered bulk write.
+     * Each game carries the version it should end up with; a game already stored at
+     * that version or later is left untouched instead of failing the batch.
+     */
+    Mono<Void> saveDraws(List<Game> games);
+}
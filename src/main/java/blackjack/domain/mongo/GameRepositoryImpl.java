@@ -0,0 +1,158 @@
+package blackjack.domain.mongo;
+
+import blackjack.exception.NotFoundException;
+import blackjack.model.GameStatus;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.bulk.BulkWriteError;
+import org.bson.types.ObjectId;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.ReactiveBulkOperations;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class GameRepositoryImpl implements GameRepositoryCustom {
+
+    private static final int HISTORY_BATCH = 256;
+
+    private final ReactiveMongoTemplate mongo;
+
+    public GameRepositoryImpl(ReactiveMongoTemplate mongo) {
+        this.mongo = mongo;
+    }
+
+    @Override
+    public Mono<Game> findViewById(String id) {
+        Query query = Query.query(Criteria.where("_id").is(id));
+        // The remaining cards are most of the document; "deck" is where older versions kept them
+        query.fields().exclude("shoe").exclude("deck");
+        return mongo.findOne(query, Game.class);
+    }
+
+    @Override
+    public Flux<Game> findHistory(Long playerId, Instant createdBefore, String idBefore, int limit) {
+        Query query = history(playerId, createdBefore, idBefore, limit);
+        query.fields().exclude("shoe").exclude("deck");
+        return mongo.find(query, Game.class);
+    }
+
+    @Override
+    public Flux<ArchivedGame> findArchivedHistory(Long playerId, Instant createdBefore, String idBefore, int limit) {
+        return mongo.find(history(playerId, createdBefore, idBefore, limit), ArchivedGame.class);
+    }
+
+    private static Query history(Long playerId, Instant createdBefore, String idBefore, int limit) {
+        Criteria criteria = Criteria.where("playerId").is(playerId);
+        if (createdBefore != null) {
+            // Rows after (c, i) in createdAt DESC, _id DESC order
+            criteria.orOperator(Criteria.where("createdAt").lt(createdBefore),
+                    Criteria.where("createdAt").is(createdBefore).and("_id").lt(idBefore));
+        }
+        return Query.query(criteria)
+                .with(Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("_id")))
+                .limit(limit)
+                .cursorBatchSize(HISTORY_BATCH);
+    }
+
+    @Override
+    public Mono<Map<Integer, DataAccessException>> insertAll(List<Game> games) {
+        if (games.isEmpty()) {
+            return Mono.just(Map.of());
+        }
+        // Bulk inserts neither assign ids nor initialise the version the way insert() does
+        Instant now = Instant.now();
+        for (Game g : games) {
+            if (g.getId() == null) {
+                g.setId(new ObjectId().toHexString());
+            }
+            g.setVersion(0L);
+            g.setCreatedAt(now);
+            g.setUpdatedAt(now);
+        }
+        return mongo.bulkOps(BulkOperations.BulkMode.UNORDERED, Game.class)
+                .insert(games)
+                .execute()
+                .<Map<Integer, DataAccessException>>thenReturn(Map.of())
+                .onErrorResume(BulkOperationException.class, e -> Mono.just(byIndex(e.getErrors())))
+                .onErrorResume(MongoBulkWriteException.class, e -> Mono.just(byIndex(e.getWriteErrors())));
+    }
+
+    private static Map<Integer, DataAccessException> byIndex(List<BulkWriteError> errors) {
+        Map<Integer, DataAccessException> failed = new HashMap<>();
+        for (BulkWriteError e : errors) {
+            failed.put(e.getIndex(), e.getCode() == 11000
+                    ? new DuplicateKeyException(e.getMessage())
+                    : new DataIntegrityViolationException(e.getMessage()));
+        }
+        return failed;
+    }
+
+    @Override
+    public Mono<Game> saveDraw(Game game) {
+        long version = game.getVersion();
+        Query query = inProgress(game).addCriteria(Criteria.where("version").is(version));
+        return mongo.updateFirst(query, drawUpdate(game).set("version", version + 1), Game.class)
+                .flatMap(r -> {
+                    if (r.getMatchedCount() > 0) {
+                        game.setVersion(version + 1);
+                        game.setShoeUnsaved(false);
+                        return Mono.just(game);
+                    }
+                    return mongo.exists(Query.query(Criteria.where("_id").is(game.getId())), Game.class)
+                            .flatMap(exists -> Mono.error(exists
+                                    ? new OptimisticLockingFailureException("Game " + game.getId() + " was modified concurrently")
+                                    : new NotFoundException("Game " + game.getId() + " not found")));
+                });
+    }
+
+    @Override
+    public Mono<Void> saveDraws(List<Game> games) {
+        if (games.isEmpty()) {
+            return Mono.empty();
+        }
+        ReactiveBulkOperations bulk = mongo.bulkOps(BulkOperations.BulkMode.UNORDERED, Game.class);
+        for (Game g : games) {
+            // Snapshots of one game may land out of order; only ever move the version forward
+            Query query = inProgress(g).addCriteria(Criteria.where("version").lt(g.getVersion()));
+            bulk.updateOne(query, drawUpdate(g).set("version", g.getVersion()));
+        }
+        return bulk.execute().then();
+    }
+
+    // A draw that arrives after the game was finished and saved must not roll it back
+    private static Query inProgress(Game game) {
+        return Query.query(Criteria.where("_id").is(game.getId()).and("status").is(GameStatus.PLAYER_TURN));
+    }
+
+    static Update drawUpdate(Game game) {
+        game.setUpdatedAt(Instant.now());
+        Update update = new Update();
+        if (game.isShoeUnsaved()) {
+            // The stored document has no shoe to move the cursor of, only the legacy deck
+            update.set("shoe", game.getShoe()).unset("deck");
+        } else {
+            update.set("shoe.cursor", game.getShoe().getCursor());
+        }
+        return update
+                .set("playerHand", game.getPlayerHand())
+                .set("dealerHand", game.getDealerHand())
+                .set("playerState", game.getPlayerState())
+                .set("dealerState", game.getDealerState())
+                .set("bet", game.getBet())
+                .set("updatedAt", game.getUpdatedAt());
+    }
+}
@@ -0,0 +1,36 @@
+package blackjack.domain.mongo;
+
+import blackjack.model.HandState;
+import blackjack.model.Shoe;
+import org.bson.Document;
+import org.reactivestreams.Publisher;
+import org.springframework.data.mongodb.core.mapping.event.ReactiveAfterConvertCallback;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * Upgrades games stored by older versions: remaining cards kept in a
+ * {@code deck} field become a {@link Shoe} with cursor 0, written in full by the
+ * next save (see {@link Game#isShoeUnsaved()}), and hand totals
+ * that were never stored are computed once from the cards. Games stored before
+ * optimistic locking start at version 0.
+ */
+@Component
+public class LegacyGameCallback implements ReactiveAfterConvertCallback<Game> {
+
+    @Override
+    public Publisher<Game> onAfterConvert(Game game, Document document, String collection) {
+        if (!document.containsKey("shoe") && document.containsKey("deck")) {
+            game.setShoe(Shoe.of(CardsConverter.decode(document.get("deck"))));
+            game.setShoeUnsaved(true);
+        }
+        if (!document.containsKey("playerState")) {
+            game.setPlayerState(HandState.of(game.getPlayerHand()));
+            game.setDealerState(HandState.of(game.getDealerHand()));
+        }
+        if (game.getVersion() == null) {
+            game.setVersion(0L);
+        }
+        return Mono.just(game);
+    }
+}
@@ -0,0 +1,42 @@
+package blackjack.domain.mongo;
+
+import blackjack.model.Money;
+import org.bson.types.Decimal128;
+import org.springframework.data.convert.PropertyValueConverter;
+import org.springframework.data.mongodb.core.convert.MongoConversionContext;
+
+import java.math.BigDecimal;
+
+/**
+ * Stores an amount as a 64-bit integer of cents, which {@code $sum} and {@code $inc}
+ * add without a decimal type. Amounts written by older versions as a decimal string
+ * or Decimal128 of whole units are still readable.
+ */
+public class MoneyConverter implements PropertyValueConverter<Money, Object, MongoConversionContext> {
+
+    @Override
+    public Money read(Object value, MongoConversionContext context) {
+        return decode(value);
+    }
+
+    @Override
+    public Object write(Money value, MongoConversionContext context) {
+        return value.cents();
+    }
+
+    public static Money decode(Object value) {
+        if (value instanceof Long cents) {
+            return Money.ofCents(cents);
+        }
+        if (value instanceof Integer cents) {
+            return Money.ofCents(cents);
+        }
+        if (value instanceof String legacy) {
+            return Money.of(new BigDecimal(legacy));
+        }
+        if (value instanceof Decimal128 legacy) {
+            return Money.of(legacy.bigDecimalValue());
+        }
+        throw new IllegalArgumentException("Cannot read money from " + value.getClass().getName());
+    }
+}
@@ -0,0 +1,57 @@
+package blackjack.domain.mongo;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * Running totals of a player's finished games, one document per player. Kept up to
+ * date with {@code $inc} as games finish and rebuilt from the games by aggregation.
+ */
+@Document(PlayerStats.COLLECTION)
+public class PlayerStats {
+
+    public static final String COLLECTION = "player_stats";
+
+    @Id
+    private Long playerId;
+
+    private long games;
+    private long blackjacks;
+    private long wins;
+    private long losses;
+    private long pushes;
+    private long busts;
+    private long doubles;
+    private long doubleWins;
+
+    // Plain cents, the same unit as Game.bet, so $inc and $sum add them as integers
+    private long totalBetCents;
+
+    public PlayerStats() {}
+
+    public PlayerStats(Long playerId) {
+        this.playerId = playerId;
+    }
+
+    // getters and setters
+    public Long getPlayerId() { return playerId; }
+    public void setPlayerId(Long playerId) { this.playerId = playerId; }
+    public long getGames() { return games; }
+    public void setGames(long games) { this.games = games; }
+    public long getBlackjacks() { return blackjacks; }
+    public void setBlackjacks(long blackjacks) { this.blackjacks = blackjacks; }
+    public long getWins() { return wins; }
+    public void setWins(long wins) { this.wins = wins; }
+    public long getLosses() { return losses; }
+    public void setLosses(long losses) { this.losses = losses; }
+    public long getPushes() { return pushes; }
+    public void setPushes(long pushes) { this.pushes = pushes; }
+    public long getBusts() { return busts; }
+    public void setBusts(long busts) { this.busts = busts; }
+    public long getDoubles() { return doubles; }
+    public void setDoubles(long doubles) { this.doubles = doubles; }
+    public long getDoubleWins() { return doubleWins; }
+    public void setDoubleWins(long doubleWins) { this.doubleWins = doubleWins; }
+    public long getTotalBetCents() { return totalBetCents; }
+    public void setTotalBetCents(long totalBetCents) { this.totalBetCents = totalBetCents; }
+}
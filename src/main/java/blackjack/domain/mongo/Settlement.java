@@ -0,0 +1,37 @@
+package blackjack.domain.mongo;
+
+import blackjack.model.Money;
+import org.springframework.data.convert.ValueConverter;
+
+/**
+ * Balance change owed for a finished game, stored inside the game itself so it is
+ * written together with the result. It stays {@link Status#PENDING} until the
+ * settlement relay has applied it to the player in MySQL, or becomes
+ * {@link Status#FAILED} once the relay has given up on it after {@code attempts} tries.
+ */
+public class Settlement {
+
+    public enum Status { PENDING, APPLIED, REJECTED, FAILED }
+
+    private boolean win;
+    @ValueConverter(MoneyConverter.class)
+    private Money amount;
+    private Status status = Status.PENDING;
+    private int attempts;
+
+    public Settlement() {}
+
+    public Settlement(boolean win, Money amount) {
+        this.win = win;
+        this.amount = amount;
+    }
+
+    public boolean isWin() { return win; }
+    public void setWin(boolean win) { this.win = win; }
+    public Money getAmount() { return amount; }
+    public void setAmount(Money amount) { this.amount = amount; }
+    public Status getStatus() { return status; }
+    public void setStatus(Status status) { this.status = status; }
+    public int getAttempts() { return attempts; }
+    public void setAttempts(int attempts) { this.attempts = attempts; }
+}
@@ -1,15 +1,15 @@
 package blackjack.domain.mysql;
 
-import java.math.BigDecimal;
-import java.time.Instant;
-
+import blackjack.model.Money;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.relational.core.mapping.Column;
 import org.springframework.data.relational.core.mapping.Table;
 
+import java.time.Instant;
+
 @Table("players")
 public class Player {
-    public static final BigDecimal INITIAL_BALANCE = BigDecimal.valueOf(100);
+    public static final Money INITIAL_BALANCE = Money.of(100);
 
     @Id
     private Long id;
@@ -27,14 +27,14 @@ public class Player {
     private int losses;
 
     @Column("balance")
-    private BigDecimal balance;
+    private Money balance;
 
     @Column("created_at")
     private Instant createdAt;
 
     public Player() {}
 
-    public Player(Long id, String name, int gamesPlayed, int wins, int losses, BigDecimal balance, Instant createdAt) {
+    public Player(Long id, String name, int gamesPlayed, int wins, int losses, Money balance, Instant createdAt) {
         this.id = id;
         this.name = name;
         this.gamesPlayed = gamesPlayed;
@@ -61,20 +61,8 @@ public class Player {
     public void setWins(int wins) { this.wins = wins; }
     public int getLosses() { return losses; }
     public void setLosses(int losses) { this.losses = losses; }
-    public BigDecimal getBalance() { return balance; }
-    public void setBalance(BigDecimal balance) { this.balance = balance; }
+    public Money getBalance() { return balance; }
+    public void setBalance(Money balance) { this.balance = balance; }
     public Instant getCreatedAt() { return createdAt; }
     public void setCreatedAt(Instant createdAt) { this.createdAt = createdAt; }
-
-    public void recordWin(BigDecimal amount) {
-        this.wins += 1;
-        this.gamesPlayed += 1;
-        this.balance = this.balance.add(amount);
-    }
-
-    public void recordLoss(BigDecimal amount) {
-        this.losses += 1;
-        this.gamesPlayed += 1;
-        this.balance = this.balance.subtract(amount);
-    }
 }
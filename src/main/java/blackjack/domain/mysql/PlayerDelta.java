@@ -0,0 +1,6 @@
+package blackjack.domain.mysql;
+
+import blackjack.model.Money;
+
+/** Net change of several settled games of one player, written as a single row update. */
+public record PlayerDelta(Long playerId, int wins, int losses, Money balance) {}
@@ -1,10 +1,23 @@
 package blackjack.domain.mysql;
 
+import blackjack.model.Money;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.repository.reactive.ReactiveCrudRepository;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
-public interface PlayerRepository extends ReactiveCrudRepository<Player, Long> {
-    Mono<Player> findByName(String name);
-    Flux<Player> findTop20ByOrderByWinsDesc();
+public interface PlayerRepository extends ReactiveCrudRepository<Player, Long>, PlayerRepositoryCustom {
+    Flux<Player> findTop20ByOrderByWinsDescIdAsc();
+
+    @Modifying
+    @Query("UPDATE players SET wins = wins + 1, games_played = games_played + 1, balance = balance + :amount " +
+            "WHERE id = :id")
+    Mono<Integer> applyWin(Long id, Money amount);
+
+    // Matches no row when the balance cannot cover the loss
+    @Modifying
+    @Query("UPDATE players SET losses = losses + 1, games_played = games_played + 1, balance = balance - :amount " +
+            "WHERE id = :id AND balance >= :amount")
+    Mono<Integer> applyLoss(Long id, Money amount);
 }
@@ -0,0 +1,30 @@
+package blackjack.domain.mysql;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+public interface PlayerRepositoryCustom {
+
+    /**
+     * ID of the player with this name, creating the player if there is none, in one
+     * statement. Safe against concurrent calls for the same name.
+     */
+    Mono<Long> upsertIdByName(String name);
+
+    /**
+     * Players ranked by {@code sort}, starting right after the player with the given
+     * key and id, or from the top when {@code afterId} is null. Seeks on the ranking
+     * index, so every page costs the same however deep it is. Only the ranking columns
+     * are read, which the index covers; {@link Player#getCreatedAt()} is left null.
+     */
+    Flux<Player> findRankingPage(RankingSort sort, Object afterKey, Long afterId, int limit);
+
+    /**
+     * Applies each delta to its player with one multi-row UPDATE; completes with the rows
+     * updated per delta, in order. A delta matches no row if the player does not exist
+     * or the change would take the balance below zero.
+     */
+    Mono<List<Long>> applyAll(List<PlayerDelta> deltas);
+}
@@ -0,0 +1,81 @@
+package blackjack.domain.mysql;
+
+import io.r2dbc.spi.Statement;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.relational.core.query.Criteria;
+import org.springframework.data.relational.core.query.Query;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.springframework.data.relational.core.query.Criteria.where;
+
+public class PlayerRepositoryImpl implements PlayerRepositoryCustom {
+
+    // Exactly what the ranking indexes hold, so a page never goes back to the table rows
+    static final String[] RANKING_COLUMNS = {"id", "name", "games_played", "wins", "losses", "balance"};
+
+    // On a duplicate name, LAST_INSERT_ID(id) reports the existing row's id as the generated key
+    static final String UPSERT = "INSERT INTO players (name, balance) VALUES (?, ?) " +
+            "ON DUPLICATE KEY UPDATE id = LAST_INSERT_ID(id)";
+
+    static final String APPLY_DELTA = "UPDATE players SET wins = wins + ?, losses = losses + ?, " +
+            "games_played = games_played + ?, balance = balance + ? WHERE id = ? AND balance + ? >= 0";
+
+    private final R2dbcEntityTemplate template;
+
+    public PlayerRepositoryImpl(R2dbcEntityTemplate template) {
+        this.template = template;
+    }
+
+    @Override
+    public Mono<Long> upsertIdByName(String name) {
+        return template.getDatabaseClient().sql(UPSERT)
+                .bind(0, name)
+                .bind(1, Player.INITIAL_BALANCE.toBigDecimal())
+                .filter(st -> st.returnGeneratedValues("id"))
+                .map(row -> row.get("id", Long.class))
+                .one();
+    }
+
+    @Override
+    public Flux<Player> findRankingPage(RankingSort sort, Object afterKey, Long afterId, int limit) {
+        String key = sort.property();
+        // key < k OR (key = k AND id > i): the rows after (k, i) in key DESC, id ASC order
+        Criteria after = afterId == null
+                ? Criteria.empty()
+                : where(key).lessThan(afterKey)
+                        .or(where(key).is(afterKey).and("id").greaterThan(afterId));
+        Query query = Query.query(after)
+                .columns(RANKING_COLUMNS)
+                .sort(Sort.by(Sort.Order.desc(key), Sort.Order.asc("id")))
+                .limit(limit);
+        return template.select(query, Player.class);
+    }
+
+    @Override
+    public Mono<List<Long>> applyAll(List<PlayerDelta> deltas) {
+        if (deltas.isEmpty()) {
+            return Mono.just(List.of());
+        }
+        return template.getDatabaseClient().inConnectionMany(conn -> {
+                    Statement st = conn.createStatement(APPLY_DELTA);
+                    for (int i = 0; i < deltas.size(); i++) {
+                        if (i > 0) st.add();
+                        PlayerDelta d = deltas.get(i);
+                        BigDecimal balance = d.balance().toBigDecimal();
+                        st.bind(0, d.wins())
+                                .bind(1, d.losses())
+                                .bind(2, d.wins() + d.losses())
+                                .bind(3, balance)
+                                .bind(4, d.playerId())
+                                .bind(5, balance);
+                    }
+                    return Flux.from(st.execute()).concatMap(r -> Mono.from(r.getRowsUpdated()));
+                })
+                .collectList();
+    }
+}
@@ -0,0 +1,37 @@
+package blackjack.domain.mysql;
+
+import java.math.BigDecimal;
+
+/** Orders a ranking can be read in; each is {@code key DESC, id ASC} and has its own index. */
+public enum RankingSort {
+    WINS("wins"),
+    BALANCE("balance"),
+    GAMES_PLAYED("gamesPlayed");
+
+    private final String property;
+
+    RankingSort(String property) {
+        this.property = property;
+    }
+
+    /** Name of the {@link Player} property the ranking is sorted by. */
+    public String property() {
+        return property;
+    }
+
+    public Object keyOf(Player p) {
+        return switch (this) {
+            case WINS -> p.getWins();
+            case BALANCE -> p.getBalance().toBigDecimal();
+            case GAMES_PLAYED -> p.getGamesPlayed();
+        };
+    }
+
+    /** Inverse of {@code String.valueOf(keyOf(p))}. */
+    public Object parseKey(String key) {
+        return switch (this) {
+            case WINS, GAMES_PLAYED -> Integer.valueOf(key);
+            case BALANCE -> new BigDecimal(key);
+        };
+    }
+}
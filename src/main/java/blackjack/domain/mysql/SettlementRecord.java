@@ -0,0 +1,48 @@
+package blackjack.domain.mysql;
+
+import blackjack.model.Money;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.Instant;
+
+@Table("settlements")
+public class SettlementRecord {
+
+    @Id
+    @Column("game_id")
+    private String gameId;
+
+    @Column("player_id")
+    private Long playerId;
+
+    @Column("win")
+    private boolean win;
+
+    @Column("amount")
+    private Money amount;
+
+    @Column("status")
+    private String status;
+
+    @Column("created_at")
+    private Instant createdAt;
+
+    public SettlementRecord() {}
+
+    // getters and setters
+
+    public String getGameId() { return gameId; }
+    public void setGameId(String gameId) { this.gameId = gameId; }
+    public Long getPlayerId() { return playerId; }
+    public void setPlayerId(Long playerId) { this.playerId = playerId; }
+    public boolean isWin() { return win; }
+    public void setWin(boolean win) { this.win = win; }
+    public Money getAmount() { return amount; }
+    public void setAmount(Money amount) { this.amount = amount; }
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+    public Instant getCreatedAt() { return createdAt; }
+    public void setCreatedAt(Instant createdAt) { this.createdAt = createdAt; }
+}
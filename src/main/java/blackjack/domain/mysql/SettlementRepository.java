@@ -0,0 +1,14 @@
+package blackjack.domain.mysql;
+
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import reactor.core.publisher.Mono;
+
+public interface SettlementRepository extends ReactiveCrudRepository<SettlementRecord, String>,
+        SettlementRepositoryCustom {
+
+    @Modifying
+    @Query("UPDATE settlements SET status = 'REJECTED' WHERE game_id = :gameId")
+    Mono<Integer> markRejected(String gameId);
+}
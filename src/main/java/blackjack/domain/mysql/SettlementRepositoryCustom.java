@@ -0,0 +1,19 @@
+package blackjack.domain.mysql;
+
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+public interface SettlementRepositoryCustom {
+
+    /** Recorded status of each of these games that has been settled, by game id. */
+    Mono<Map<String, String>> findStatuses(Collection<String> gameIds);
+
+    /**
+     * Records settlements as APPLIED with one multi-row INSERT. Fails as a whole,
+     * without ignoring anything, if one of the games already has a row.
+     */
+    Mono<Void> insertAll(List<SettlementRecord> records);
+}
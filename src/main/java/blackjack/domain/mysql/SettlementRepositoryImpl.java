@@ -0,0 +1,55 @@
+package blackjack.domain.mysql;
+
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class SettlementRepositoryImpl implements SettlementRepositoryCustom {
+
+    static final String INSERT = "INSERT INTO settlements (game_id, player_id, win, amount, status) VALUES ";
+    static final String ROW = "(?, ?, ?, ?, 'APPLIED')";
+
+    private final R2dbcEntityTemplate template;
+
+    public SettlementRepositoryImpl(R2dbcEntityTemplate template) {
+        this.template = template;
+    }
+
+    @Override
+    public Mono<Map<String, String>> findStatuses(Collection<String> gameIds) {
+        if (gameIds.isEmpty()) {
+            return Mono.just(Map.of());
+        }
+        return template.getDatabaseClient()
+                .sql("SELECT game_id, status FROM settlements WHERE game_id IN (:ids)")
+                .bind("ids", gameIds)
+                .map(row -> Map.entry(row.get("game_id", String.class), row.get("status", String.class)))
+                .all()
+                .collect(LinkedHashMap::new, (m, e) -> m.put(e.getKey(), e.getValue()));
+    }
+
+    @Override
+    public Mono<Void> insertAll(List<SettlementRecord> records) {
+        if (records.isEmpty()) {
+            return Mono.empty();
+        }
+        StringBuilder sql = new StringBuilder(INSERT);
+        for (int i = 0; i < records.size(); i++) {
+            sql.append(i == 0 ? ROW : ", " + ROW);
+        }
+        DatabaseClient.GenericExecuteSpec spec = template.getDatabaseClient().sql(sql.toString());
+        for (int i = 0; i < records.size(); i++) {
+            SettlementRecord r = records.get(i);
+            spec = spec.bind(4 * i, r.getGameId())
+                    .bind(4 * i + 1, r.getPlayerId())
+                    .bind(4 * i + 2, r.isWin())
+                    .bind(4 * i + 3, r.getAmount().toBigDecimal());
+        }
+        return spec.then();
+    }
+}
@@ -0,0 +1,10 @@
+package blackjack.dto;
+
+public class BatchPlayRequest extends PlayRequest {
+
+    // Checked by GameService.playAll: a batch reports each invalid item instead of failing
+    private String gameId;
+
+    public String getGameId() { return gameId; }
+    public void setGameId(String gameId) { this.gameId = gameId; }
+}
@@ -0,0 +1,30 @@
+package blackjack.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/** One line of a batch response: the game, or why this item failed. */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchResult {
+    private int index;
+    private int status;
+    private GameResponse game;
+    private String error;
+
+    public BatchResult() {}
+
+    public BatchResult(int index, int status, GameResponse game, String error) {
+        this.index = index;
+        this.status = status;
+        this.game = game;
+        this.error = error;
+    }
+
+    public int getIndex() { return index; }
+    public void setIndex(int index) { this.index = index; }
+    public int getStatus() { return status; }
+    public void setStatus(int status) { this.status = status; }
+    public GameResponse getGame() { return game; }
+    public void setGame(GameResponse game) { this.game = game; }
+    public String getError() { return error; }
+    public void setError(String error) { this.error = error; }
+}
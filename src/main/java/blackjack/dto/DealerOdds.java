@@ -0,0 +1,21 @@
+package blackjack.dto;
+
+import java.util.Map;
+
+/** Chances of the dealer's final hand if the player stood now. */
+public class DealerOdds {
+    private double bust;
+    private Map<Integer, Double> totals;
+
+    public DealerOdds() {}
+
+    public DealerOdds(double bust, Map<Integer, Double> totals) {
+        this.bust = bust;
+        this.totals = totals;
+    }
+
+    public double getBust() { return bust; }
+    public void setBust(double bust) { this.bust = bust; }
+    public Map<Integer, Double> getTotals() { return totals; }
+    public void setTotals(Map<Integer, Double> totals) { this.totals = totals; }
+}
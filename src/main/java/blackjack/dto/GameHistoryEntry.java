@@ -0,0 +1,93 @@
+package blackjack.dto;
+
+import blackjack.domain.mongo.ArchivedGame;
+import blackjack.domain.mongo.Game;
+import blackjack.model.Card;
+import blackjack.model.GameStatus;
+import blackjack.model.HandState;
+import blackjack.model.Money;
+import blackjack.model.Outcome;
+import org.bson.types.ObjectId;
+
+import java.time.Instant;
+import java.util.List;
+
+public class GameHistoryEntry {
+    private String id;
+    private GameStatus status;
+    private Outcome outcome;
+    private Money bet;
+    private List<Card> playerHand;
+    private List<Card> dealerHand;
+    private int playerTotal;
+    private int dealerTotal;
+    private Instant createdAt;
+    // Set once the game has been archived
+    private Instant finishedAt;
+    // Pass as "after" to resume the history right after this game
+    private String cursor;
+
+    public GameHistoryEntry() {}
+
+    public static GameHistoryEntry from(Game g) {
+        GameHistoryEntry e = new GameHistoryEntry();
+        e.id = g.getId();
+        e.status = g.getStatus();
+        e.outcome = g.getOutcome();
+        e.bet = g.getBet();
+        e.playerHand = g.getPlayerHand();
+        e.dealerHand = g.getDealerHand();
+        e.playerTotal = g.getPlayerState().getTotal();
+        e.dealerTotal = g.getDealerState().getTotal();
+        e.createdAt = createdAt(g.getCreatedAt(), g.getId());
+        return e;
+    }
+
+    public static GameHistoryEntry from(ArchivedGame a) {
+        GameHistoryEntry e = new GameHistoryEntry();
+        e.id = a.getId();
+        e.status = GameStatus.FINISHED;
+        e.outcome = a.getOutcome();
+        e.bet = a.getBet();
+        e.playerHand = a.getPlayerHand();
+        e.dealerHand = a.getDealerHand();
+        // Records archived before totals were kept have 0
+        e.playerTotal = a.getPlayerTotal() > 0 ? a.getPlayerTotal() : HandState.of(a.getPlayerHand()).getTotal();
+        e.dealerTotal = a.getDealerTotal() > 0 ? a.getDealerTotal() : HandState.of(a.getDealerHand()).getTotal();
+        e.createdAt = createdAt(a.getCreatedAt(), a.getId());
+        e.finishedAt = a.getFinishedAt();
+        return e;
+    }
+
+    // Documents stored before auditing worked have no creation time until MongoSetup backfills it
+    private static Instant createdAt(Instant stored, String id) {
+        if (stored != null || !ObjectId.isValid(id)) {
+            return stored;
+        }
+        return new ObjectId(id).getDate().toInstant();
+    }
+
+    // getters and setters
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+    public GameStatus getStatus() { return status; }
+    public void setStatus(GameStatus status) { this.status = status; }
+    public Outcome getOutcome() { return outcome; }
+    public void setOutcome(Outcome outcome) { this.outcome = outcome; }
+    public Money getBet() { return bet; }
+    public void setBet(Money bet) { this.bet = bet; }
+    public List<Card> getPlayerHand() { return playerHand; }
+    public void setPlayerHand(List<Card> playerHand) { this.playerHand = playerHand; }
+    public List<Card> getDealerHand() { return dealerHand; }
+    public void setDealerHand(List<Card> dealerHand) { this.dealerHand = dealerHand; }
+    public int getPlayerTotal() { return playerTotal; }
+    public void setPlayerTotal(int playerTotal) { this.playerTotal = playerTotal; }
+    public int getDealerTotal() { return dealerTotal; }
+    public void setDealerTotal(int dealerTotal) { this.dealerTotal = dealerTotal; }
+    public Instant getCreatedAt() { return createdAt; }
+    public void setCreatedAt(Instant createdAt) { this.createdAt = createdAt; }
+    public Instant getFinishedAt() { return finishedAt; }
+    public void setFinishedAt(Instant finishedAt) { this.finishedAt = finishedAt; }
+    public String getCursor() { return cursor; }
+    public void setCursor(String cursor) { this.cursor = cursor; }
+}
@@ -2,9 +2,10 @@ package blackjack.dto;
 
 import blackjack.model.Card;
 import blackjack.model.GameStatus;
+import blackjack.model.Money;
 import blackjack.model.Outcome;
+import com.fasterxml.jackson.annotation.JsonInclude;
 
-import java.math.BigDecimal;
 import java.util.List;
 
 public class GameResponse {
@@ -12,15 +13,18 @@ public class GameResponse {
     private Long playerId;
     private List<Card> playerHand;
     private List<Card> dealerHand; // For simplicity, we show full dealer hand (in real game initial hidden)
-    private BigDecimal bet;
+    private Money bet;
     private GameStatus status;
     private Outcome outcome;
     private int playerTotal;
     private int dealerTotal;
+    // Only when the client asks for it
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private DealerOdds odds;
 
     public GameResponse() {}
 
-    public GameResponse(String id, Long playerId, List<Card> playerHand, List<Card> dealerHand, BigDecimal bet,
+    public GameResponse(String id, Long playerId, List<Card> playerHand, List<Card> dealerHand, Money bet,
                         GameStatus status, Outcome outcome, int playerTotal, int dealerTotal) {
         this.id = id;
         this.playerId = playerId;
@@ -42,8 +46,8 @@ public class GameResponse {
     public void setPlayerHand(List<Card> playerHand) { this.playerHand = playerHand; }
     public List<Card> getDealerHand() { return dealerHand; }
     public void setDealerHand(List<Card> dealerHand) { this.dealerHand = dealerHand; }
-    public BigDecimal getBet() { return bet; }
-    public void setBet(BigDecimal bet) { this.bet = bet; }
+    public Money getBet() { return bet; }
+    public void setBet(Money bet) { this.bet = bet; }
     public GameStatus getStatus() { return status; }
     public void setStatus(GameStatus status) { this.status = status; }
     public Outcome getOutcome() { return outcome; }
@@ -52,4 +56,6 @@ public class GameResponse {
     public void setPlayerTotal(int playerTotal) { this.playerTotal = playerTotal; }
     public int getDealerTotal() { return dealerTotal; }
     public void setDealerTotal(int dealerTotal) { this.dealerTotal = dealerTotal; }
+    public DealerOdds getOdds() { return odds; }
+    public void setOdds(DealerOdds odds) { this.odds = odds; }
 }
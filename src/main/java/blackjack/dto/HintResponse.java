@@ -0,0 +1,32 @@
+package blackjack.dto;
+
+import blackjack.dto.PlayRequest.Action;
+
+public class HintResponse {
+    private String gameId;
+    private Action action;
+    private int playerTotal;
+    private boolean soft;
+    private int dealerUpcard;
+
+    public HintResponse() {}
+
+    public HintResponse(String gameId, Action action, int playerTotal, boolean soft, int dealerUpcard) {
+        this.gameId = gameId;
+        this.action = action;
+        this.playerTotal = playerTotal;
+        this.soft = soft;
+        this.dealerUpcard = dealerUpcard;
+    }
+
+    public String getGameId() { return gameId; }
+    public void setGameId(String gameId) { this.gameId = gameId; }
+    public Action getAction() { return action; }
+    public void setAction(Action action) { this.action = action; }
+    public int getPlayerTotal() { return playerTotal; }
+    public void setPlayerTotal(int playerTotal) { this.playerTotal = playerTotal; }
+    public boolean isSoft() { return soft; }
+    public void setSoft(boolean soft) { this.soft = soft; }
+    public int getDealerUpcard() { return dealerUpcard; }
+    public void setDealerUpcard(int dealerUpcard) { this.dealerUpcard = dealerUpcard; }
+}
@@ -1,7 +1,7 @@
 package blackjack.dto;
 
+import blackjack.model.Money;
 import jakarta.validation.constraints.NotNull;
-import java.math.BigDecimal;
 
 public class PlayRequest {
 
@@ -11,10 +11,10 @@ public class PlayRequest {
     private Action action;
 
     // Optional: only used on first move if you want to place a bet
-    private BigDecimal bet;
+    private Money bet;
 
     public Action getAction() { return action; }
     public void setAction(Action action) { this.action = action; }
-    public BigDecimal getBet() { return bet; }
-    public void setBet(BigDecimal bet) { this.bet = bet; }
+    public Money getBet() { return bet; }
+    public void setBet(Money bet) { this.bet = bet; }
 }
@@ -1,6 +1,9 @@
 package blackjack.dto;
 
-import java.math.BigDecimal;
+import blackjack.domain.mysql.Player;
+import blackjack.model.Money;
+
+import java.util.Objects;
 
 public class PlayerRanking {
     private Long id;
@@ -8,12 +11,12 @@ public class PlayerRanking {
     private int gamesPlayed;
     private int wins;
     private int losses;
-    private BigDecimal balance;
+    private Money balance;
     private double winRate;
 
     public PlayerRanking() {}
 
-    public PlayerRanking(Long id, String name, int gamesPlayed, int wins, int losses, BigDecimal balance) {
+    public PlayerRanking(Long id, String name, int gamesPlayed, int wins, int losses, Money balance) {
         this.id = id;
         this.name = name;
         this.gamesPlayed = gamesPlayed;
@@ -23,12 +26,31 @@ public class PlayerRanking {
         this.winRate = gamesPlayed == 0 ? 0.0 : (wins * 100.0) / gamesPlayed;
     }
 
+    public static PlayerRanking from(Player p) {
+        return new PlayerRanking(p.getId(), p.getName(), p.getGamesPlayed(), p.getWins(), p.getLosses(), p.getBalance());
+    }
+
     // getters
     public Long getId() { return id; }
     public String getName() { return name; }
     public int getGamesPlayed() { return gamesPlayed; }
     public int getWins() { return wins; }
     public int getLosses() { return losses; }
-    public BigDecimal getBalance() { return balance; }
+    public Money getBalance() { return balance; }
     public double getWinRate() { return winRate; }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof PlayerRanking)) return false;
+        PlayerRanking that = (PlayerRanking) o;
+        return gamesPlayed == that.gamesPlayed && wins == that.wins && losses == that.losses
+                && Objects.equals(id, that.id) && Objects.equals(name, that.name)
+                && (balance == null ? that.balance == null : that.balance != null && balance.compareTo(that.balance) == 0);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, name, gamesPlayed, wins, losses);
+    }
 }
@@ -0,0 +1,73 @@
+package blackjack.dto;
+
+import blackjack.domain.mongo.PlayerStats;
+import blackjack.model.Money;
+
+public class PlayerStatistics {
+    private Long playerId;
+    private long games;
+    private long blackjacks;
+    private long wins;
+    private long losses;
+    private long pushes;
+    private long busts;
+    private long doubles;
+    private long doubleWins;
+    // Rates are percentages, like PlayerRanking.winRate
+    private double blackjackRate;
+    private double bustRate;
+    private double doubleWinRate;
+    private Money averageBet;
+
+    public PlayerStatistics() {}
+
+    public static PlayerStatistics from(PlayerStats s) {
+        PlayerStatistics r = new PlayerStatistics();
+        r.playerId = s.getPlayerId();
+        r.games = s.getGames();
+        r.blackjacks = s.getBlackjacks();
+        r.wins = s.getWins();
+        r.losses = s.getLosses();
+        r.pushes = s.getPushes();
+        r.busts = s.getBusts();
+        r.doubles = s.getDoubles();
+        r.doubleWins = s.getDoubleWins();
+        r.blackjackRate = percent(s.getBlackjacks(), s.getGames());
+        r.bustRate = percent(s.getBusts(), s.getGames());
+        r.doubleWinRate = percent(s.getDoubleWins(), s.getDoubles());
+        r.averageBet = Money.ofCents(s.getTotalBetCents()).average(s.getGames());
+        return r;
+    }
+
+    private static double percent(long part, long whole) {
+        return whole == 0 ? 0.0 : (part * 100.0) / whole;
+    }
+
+    // getters and setters
+    public Long getPlayerId() { return playerId; }
+    public void setPlayerId(Long playerId) { this.playerId = playerId; }
+    public long getGames() { return games; }
+    public void setGames(long games) { this.games = games; }
+    public long getBlackjacks() { return blackjacks; }
+    public void setBlackjacks(long blackjacks) { this.blackjacks = blackjacks; }
+    public long getWins() { return wins; }
+    public void setWins(long wins) { this.wins = wins; }
+    public long getLosses() { return losses; }
+    public void setLosses(long losses) { this.losses = losses; }
+    public long getPushes() { return pushes; }
+    public void setPushes(long pushes) { this.pushes = pushes; }
+    public long getBusts() { return busts; }
+    public void setBusts(long busts) { this.busts = busts; }
+    public long getDoubles() { return doubles; }
+    public void setDoubles(long doubles) { this.doubles = doubles; }
+    public long getDoubleWins() { return doubleWins; }
+    public void setDoubleWins(long doubleWins) { this.doubleWins = doubleWins; }
+    public double getBlackjackRate() { return blackjackRate; }
+    public void setBlackjackRate(double blackjackRate) { this.blackjackRate = blackjackRate; }
+    public double getBustRate() { return bustRate; }
+    public void setBustRate(double bustRate) { this.bustRate = bustRate; }
+    public double getDoubleWinRate() { return doubleWinRate; }
+    public void setDoubleWinRate(double doubleWinRate) { this.doubleWinRate = doubleWinRate; }
+    public Money getAverageBet() { return averageBet; }
+    public void setAverageBet(Money averageBet) { this.averageBet = averageBet; }
+}
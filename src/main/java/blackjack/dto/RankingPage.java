@@ -0,0 +1,22 @@
+package blackjack.dto;
+
+import java.util.List;
+
+public class RankingPage {
+    private List<PlayerRanking> players;
+    // Cursor for the following page; null on the last one
+    private String next;
+
+    public RankingPage() {}
+
+    public RankingPage(List<PlayerRanking> players, String next) {
+        this.players = players;
+        this.next = next;
+    }
+
+    public List<PlayerRanking> getPlayers() { return players; }
+    public void setPlayers(List<PlayerRanking> players) { this.players = players; }
+
+    public String getNext() { return next; }
+    public void setNext(String next) { this.next = next; }
+}
@@ -0,0 +1,50 @@
+package blackjack.dto;
+
+import blackjack.model.Outcome;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.Map;
+
+/**
+ * Progress of a simulation. Results are only set on the last report, once
+ * {@code done} is true. Money figures are in units of the initial bet.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class SimulationReport {
+
+    private long hands;
+    private long handsPlayed;
+    private boolean done;
+    private long elapsedMillis;
+
+    private Double expectedValue;
+    private Double variance;
+    private Double standardError;
+    private Map<Outcome, Double> outcomes;
+
+    public SimulationReport() {}
+
+    public SimulationReport(long hands, long handsPlayed, boolean done, long elapsedMillis) {
+        this.hands = hands;
+        this.handsPlayed = handsPlayed;
+        this.done = done;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public long getHands() { return hands; }
+    public void setHands(long hands) { this.hands = hands; }
+    public long getHandsPlayed() { return handsPlayed; }
+    public void setHandsPlayed(long handsPlayed) { this.handsPlayed = handsPlayed; }
+    public boolean isDone() { return done; }
+    public void setDone(boolean done) { this.done = done; }
+    public long getElapsedMillis() { return elapsedMillis; }
+    public void setElapsedMillis(long elapsedMillis) { this.elapsedMillis = elapsedMillis; }
+    public Double getExpectedValue() { return expectedValue; }
+    public void setExpectedValue(Double expectedValue) { this.expectedValue = expectedValue; }
+    public Double getVariance() { return variance; }
+    public void setVariance(Double variance) { this.variance = variance; }
+    public Double getStandardError() { return standardError; }
+    public void setStandardError(Double standardError) { this.standardError = standardError; }
+    public Map<Outcome, Double> getOutcomes() { return outcomes; }
+    public void setOutcomes(Map<Outcome, Double> outcomes) { this.outcomes = outcomes; }
+}
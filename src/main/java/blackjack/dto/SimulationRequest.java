@@ -0,0 +1,46 @@
+package blackjack.dto;
+
+import blackjack.service.Strategy;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+import java.math.BigDecimal;
+
+public class SimulationRequest {
+
+    @NotNull
+    @Min(1)
+    private Long hands;
+
+    // Optional rule overrides; default to the rules the game API plays
+    @Min(1)
+    @Max(8)
+    private Integer decks;
+    private Boolean dealerHitsSoft17;
+    @DecimalMin("1.0")
+    @DecimalMax("2.0")
+    @Digits(integer = 1, fraction = 4)
+    private BigDecimal blackjackPayout;
+
+    private Strategy strategy = Strategy.MIMIC_DEALER;
+
+    // Optional: same seed and settings give the same report
+    private Long seed;
+
+    public Long getHands() { return hands; }
+    public void setHands(Long hands) { this.hands = hands; }
+    public Integer getDecks() { return decks; }
+    public void setDecks(Integer decks) { this.decks = decks; }
+    public Boolean getDealerHitsSoft17() { return dealerHitsSoft17; }
+    public void setDealerHitsSoft17(Boolean dealerHitsSoft17) { this.dealerHitsSoft17 = dealerHitsSoft17; }
+    public BigDecimal getBlackjackPayout() { return blackjackPayout; }
+    public void setBlackjackPayout(BigDecimal blackjackPayout) { this.blackjackPayout = blackjackPayout; }
+    public Strategy getStrategy() { return strategy; }
+    public void setStrategy(Strategy strategy) { this.strategy = strategy; }
+    public Long getSeed() { return seed; }
+    public void setSeed(Long seed) { this.seed = seed; }
+}
@@ -0,0 +1,5 @@
+package blackjack.exception;
+
+public class ConflictException extends RuntimeException {
+    public ConflictException(String message) { super(message); }
+}
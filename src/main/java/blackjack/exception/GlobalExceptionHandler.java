@@ -5,12 +5,22 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.ServerWebInputException;
 
 import java.time.Instant;
 
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
+    /** Status the handlers below would answer for this error; used for items of batch responses. */
+    public static HttpStatus statusOf(Throwable ex) {
+        if (ex instanceof BadRequestException) return HttpStatus.BAD_REQUEST;
+        if (ex instanceof NotFoundException) return HttpStatus.NOT_FOUND;
+        if (ex instanceof ConflictException) return HttpStatus.CONFLICT;
+        if (ex instanceof ServerWebInputException) return HttpStatus.BAD_REQUEST;
+        return HttpStatus.INTERNAL_SERVER_ERROR;
+    }
+
     private ResponseEntity<ApiError> buildResponse(
             HttpStatus status, String message, ServerWebExchange exchange) {
 
@@ -37,6 +47,19 @@ public class GlobalExceptionHandler {
         return buildResponse(HttpStatus.NOT_FOUND, ex.getMessage(), exchange);
     }
 
+    @ExceptionHandler(ConflictException.class)
+    public ResponseEntity<ApiError> handleConflict(
+            ConflictException ex, ServerWebExchange exchange) {
+        return buildResponse(HttpStatus.CONFLICT, ex.getMessage(), exchange);
+    }
+
+    // A body, path or query value that cannot be read, e.g. an amount with fractions of a cent
+    @ExceptionHandler(ServerWebInputException.class)
+    public ResponseEntity<ApiError> handleInput(
+            ServerWebInputException ex, ServerWebExchange exchange) {
+        return buildResponse(HttpStatus.BAD_REQUEST, ex.getMostSpecificCause().getMessage(), exchange);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ApiError> handleGeneric(
             Exception ex, ServerWebExchange exchange) {
@@ -1,8 +1,13 @@
 package blackjack.model;
 
-import java.util.Objects;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
 
-public class Card {
+/**
+ * Immutable playing card. Only 52 distinct cards exist, so instances are
+ * canonical: obtain them through {@link #of(Suit, Rank)} or {@link #ofOrdinal(int)}.
+ */
+public final class Card {
     public enum Suit { CLUBS, DIAMONDS, HEARTS, SPADES }
     public enum Rank {
         TWO(2), THREE(3), FOUR(4), FIVE(5), SIX(6), SEVEN(7),
@@ -13,19 +18,45 @@ public class Card {
         public int getValue() { return value; }
     }
 
-    private Suit suit;
-    private Rank rank;
+    public static final int DECK_SIZE = 52;
 
-    public Card() {}
-    public Card(Suit suit, Rank rank) {
+    private static final Suit[] SUITS = Suit.values();
+    private static final Rank[] RANKS = Rank.values();
+    private static final Card[] CARDS = new Card[DECK_SIZE];
+
+    static {
+        for (Suit s : SUITS) {
+            for (Rank r : RANKS) {
+                Card c = new Card(s, r);
+                CARDS[c.ordinal] = c;
+            }
+        }
+    }
+
+    private final Suit suit;
+    private final Rank rank;
+    private final int ordinal;
+
+    private Card(Suit suit, Rank rank) {
         this.suit = suit;
         this.rank = rank;
+        this.ordinal = suit.ordinal() * RANKS.length + rank.ordinal();
+    }
+
+    @JsonCreator
+    public static Card of(@JsonProperty("suit") Suit suit, @JsonProperty("rank") Rank rank) {
+        return CARDS[suit.ordinal() * RANKS.length + rank.ordinal()];
+    }
+
+    /** Card for {@code suit * 13 + rank}, the inverse of {@link #ordinal()}. */
+    public static Card ofOrdinal(int ordinal) {
+        return CARDS[ordinal];
     }
 
     public Suit getSuit() { return suit; }
-    public void setSuit(Suit suit) { this.suit = suit; }
     public Rank getRank() { return rank; }
-    public void setRank(Rank rank) { this.rank = rank; }
+
+    public int ordinal() { return ordinal; }
 
     public int value() { return rank.getValue(); }
 
@@ -34,12 +65,12 @@ public class Card {
         if (this == o) return true;
         if (!(o instanceof Card)) return false;
         Card card = (Card) o;
-        return suit == card.suit && rank == card.rank;
+        return ordinal == card.ordinal;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(suit, rank);
+        return ordinal;
     }
 
     @Override
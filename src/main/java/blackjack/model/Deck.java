@@ -1,19 +1,52 @@
 package blackjack.model;
 
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
 
 public class Deck {
 
+    private static final byte[] ORDERED = new byte[Card.DECK_SIZE];
+
+    static {
+        for (int i = 0; i < ORDERED.length; i++) {
+            ORDERED[i] = (byte) i;
+        }
+    }
+
     public static List<Card> newShuffled() {
-        List<Card> cards = new ArrayList<>(52);
-        for (Card.Suit s : Card.Suit.values()) {
-            for (Card.Rank r : Card.Rank.values()) {
-                cards.add(new Card(s, r));
-            }
+        byte[] order = shuffledOrdinals();
+        List<Card> cards = new ArrayList<>(order.length);
+        for (byte b : order) {
+            cards.add(Card.ofOrdinal(b));
         }
-        Collections.shuffle(cards);
         return cards;
     }
+
+    /** A freshly shuffled deck as card ordinals (see {@link Card#ordinal()}). */
+    public static byte[] shuffledOrdinals() {
+        byte[] order = ORDERED.clone();
+        shuffle(order, ThreadLocalRandom.current());
+        return order;
+    }
+
+    /** {@code decks} decks in order, as card ordinals; shuffle with {@link #shuffle}. */
+    public static byte[] orderedOrdinals(int decks) {
+        byte[] cards = new byte[decks * Card.DECK_SIZE];
+        for (int d = 0; d < decks; d++) {
+            System.arraycopy(ORDERED, 0, cards, d * Card.DECK_SIZE, Card.DECK_SIZE);
+        }
+        return cards;
+    }
+
+    /** In-place Fisher-Yates shuffle. */
+    public static void shuffle(byte[] cards, RandomGenerator random) {
+        for (int i = cards.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            byte tmp = cards[i];
+            cards[i] = cards[j];
+            cards[j] = tmp;
+        }
+    }
 }
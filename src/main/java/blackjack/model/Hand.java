@@ -12,17 +12,7 @@ public class Hand {
     public void add(Card c) { cards.add(c); }
 
     public int total() {
-        int sum = 0;
-        int aces = 0;
-        for (Card c : cards) {
-            sum += c.value();
-            if (c.getRank() == Card.Rank.ACE) aces++;
-        }
-        while (sum > 21 && aces > 0) {
-            sum -= 10; // Treat an Ace as 1 instead of 11
-            aces--;
-        }
-        return sum;
+        return HandState.of(cards).getTotal();
     }
 
     public boolean isBlackjack() { return cards.size() == 2 && total() == 21; }
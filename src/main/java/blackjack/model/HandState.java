@@ -0,0 +1,50 @@
+package blackjack.model;
+
+import java.util.List;
+
+/**
+ * Running score of a hand, updated in O(1) per card. Aces count as 11 while
+ * that keeps the hand at 21 or below; {@code softAces} is how many still do.
+ */
+public class HandState {
+
+    private int total;
+    private int softAces;
+    private int cards;
+
+    public HandState() {}
+
+    public static HandState of(List<Card> cards) {
+        HandState s = new HandState();
+        for (Card c : cards) {
+            s.add(c);
+        }
+        return s;
+    }
+
+    public HandState copy() {
+        HandState s = new HandState();
+        s.total = total;
+        s.softAces = softAces;
+        s.cards = cards;
+        return s;
+    }
+
+    public void add(Card c) {
+        total += c.value();
+        cards++;
+        if (c.getRank() == Card.Rank.ACE) softAces++;
+        while (total > 21 && softAces > 0) {
+            total -= 10; // Treat an Ace as 1 instead of 11
+            softAces--;
+        }
+    }
+
+    public int getTotal() { return total; }
+    public int getSoftAces() { return softAces; }
+    public int getCards() { return cards; }
+
+    public boolean isSoft() { return softAces > 0; }
+    public boolean isBust() { return total > 21; }
+    public boolean isBlackjack() { return cards == 2 && total == 21; }
+}
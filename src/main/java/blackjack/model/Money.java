@@ -0,0 +1,90 @@
+package blackjack.model;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+import java.math.BigDecimal;
+
+/**
+ * An amount of chips in whole cents. Arithmetic stays in {@code long}, so betting
+ * and settling a game allocate nothing beyond the result itself. In JSON and in
+ * MySQL an amount is a decimal number with two places, in Mongo a 64-bit integer
+ * of cents.
+ */
+public record Money(long cents) implements Comparable<Money> {
+
+    public static final Money ZERO = new Money(0);
+    public static final Money ONE = new Money(100);
+
+    private static final int SCALE = 2;
+
+    public static Money ofCents(long cents) {
+        return cents == 0 ? ZERO : new Money(cents);
+    }
+
+    public static Money of(long units) {
+        return ofCents(Math.multiplyExact(units, 100L));
+    }
+
+    /** @throws ArithmeticException if the amount has fractions of a cent */
+    @JsonCreator
+    public static Money of(BigDecimal amount) {
+        BigDecimal cents = amount.movePointRight(SCALE);
+        if (cents.stripTrailingZeros().scale() > 0) {
+            throw new ArithmeticException("Amount " + amount.toPlainString() + " has fractions of a cent");
+        }
+        return ofCents(cents.longValueExact());
+    }
+
+    public static Money parse(String amount) {
+        return of(new BigDecimal(amount));
+    }
+
+    public Money plus(Money other) {
+        return ofCents(Math.addExact(cents, other.cents));
+    }
+
+    public Money minus(Money other) {
+        return ofCents(Math.subtractExact(cents, other.cents));
+    }
+
+    public Money times(long factor) {
+        return ofCents(Math.multiplyExact(cents, factor));
+    }
+
+    /**
+     * This amount times {@code numerator / denominator}, rounded down to the cent:
+     * a 3:2 blackjack on a bet of 0.05 pays 0.07, the house keeps the half cent.
+     */
+    public Money times(long numerator, long denominator) {
+        return ofCents(Math.floorDiv(Math.multiplyExact(cents, numerator), denominator));
+    }
+
+    /** Mean of {@code count} amounts adding up to this one, rounded half up to the cent. */
+    public Money average(long count) {
+        return count == 0 ? ZERO : ofCents(Math.floorDiv(2 * cents + count, 2 * count));
+    }
+
+    public boolean isPositive() {
+        return cents > 0;
+    }
+
+    public boolean isZero() {
+        return cents == 0;
+    }
+
+    @JsonValue
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(cents, SCALE);
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(cents, other.cents);
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString();
+    }
+}
@@ -0,0 +1,38 @@
+package blackjack.model;
+
+import java.math.BigDecimal;
+
+/**
+ * Table rules that change the odds. {@link #STANDARD} is what the game API plays:
+ * one deck, dealer stands on all 17s, blackjack pays 3:2.
+ */
+public class RuleSet {
+
+    public static final RuleSet STANDARD = new RuleSet(1, false, new BigDecimal("1.5"));
+
+    private final int decks;
+    private final boolean dealerHitsSoft17;
+    private final BigDecimal blackjackPayout;
+    // The payout as an exact fraction, e.g. 15/10 for 3:2, so winnings stay in cents
+    private final long payoutNumerator;
+    private final long payoutDenominator;
+
+    public RuleSet(int decks, boolean dealerHitsSoft17, BigDecimal blackjackPayout) {
+        this.decks = decks;
+        this.dealerHitsSoft17 = dealerHitsSoft17;
+        this.blackjackPayout = blackjackPayout;
+        BigDecimal exact = blackjackPayout.stripTrailingZeros();
+        int scale = Math.max(exact.scale(), 0);
+        this.payoutNumerator = exact.movePointRight(scale).longValueExact();
+        this.payoutDenominator = BigDecimal.ONE.movePointRight(scale).longValueExact();
+    }
+
+    /** What a blackjack wins on {@code bet}, rounded down to the cent. */
+    public Money blackjackWin(Money bet) {
+        return bet.times(payoutNumerator, payoutDenominator);
+    }
+
+    public int getDecks() { return decks; }
+    public boolean isDealerHitsSoft17() { return dealerHitsSoft17; }
+    public BigDecimal getBlackjackPayout() { return blackjackPayout; }
+}
@@ -0,0 +1,53 @@
+package blackjack.model;
+
+import java.util.List;
+
+/**
+ * Shuffled cards plus a dealing cursor. Drawing only moves the cursor, so the
+ * card array never shifts and is written to Mongo once per game.
+ */
+public class Shoe {
+
+    private byte[] cards = new byte[0];
+    private int cursor;
+
+    public Shoe() {}
+
+    public Shoe(byte[] cards, int cursor) {
+        this.cards = cards;
+        this.cursor = cursor;
+    }
+
+    public static Shoe newShuffled() {
+        return new Shoe(Deck.shuffledOrdinals(), 0);
+    }
+
+    public static Shoe of(List<Card> cards) {
+        byte[] bytes = new byte[cards.size()];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) cards.get(i).ordinal();
+        }
+        return new Shoe(bytes, 0);
+    }
+
+    /** Copy sharing the (never modified) card array, with its own cursor. */
+    public Shoe copy() {
+        return new Shoe(cards, cursor);
+    }
+
+    public Card draw() {
+        if (isEmpty()) {
+            throw new IllegalStateException("Shoe exhausted");
+        }
+        return Card.ofOrdinal(cards[cursor++]);
+    }
+
+    public int remaining() { return cards.length - cursor; }
+    public boolean isEmpty() { return cursor >= cards.length; }
+
+    // getters and setters
+    public byte[] getCards() { return cards; }
+    public void setCards(byte[] cards) { this.cards = cards; }
+    public int getCursor() { return cursor; }
+    public void setCursor(int cursor) { this.cursor = cursor; }
+}
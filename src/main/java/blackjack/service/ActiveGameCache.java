@@ -0,0 +1,241 @@
+package blackjack.service;
+
+import blackjack.domain.mongo.Game;
+import blackjack.domain.mongo.GameRepository;
+import blackjack.model.GameStatus;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Optional in-memory cache of games in {@link GameStatus#PLAYER_TURN} in front of
+ * {@link GameRepository}. Draws on cached games are written back in the background,
+ * in batches; finished games skip the cache and are saved right away.
+ * <p>
+ * Cached games are never changed: readers and plays get copies, and a play's copy
+ * replaces the cached game only once it has been saved, so a reader never sees a
+ * half-applied action and an action that fails leaves the cache as it was.
+ * <p>
+ * The cache assumes it is the only writer of its games, so enable it only when a
+ * single application instance serves a given game.
+ */
+@Component
+public class ActiveGameCache {
+
+    private static final Logger log = LoggerFactory.getLogger(ActiveGameCache.class);
+
+    private final GameRepository games;
+    private final boolean enabled;
+    private final int maxSize;
+    private final long idleNanos;
+    private final Duration flushInterval;
+    private final int batchSize;
+
+    // Access-ordered, so the eldest entry is always the least recently used one
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    // Latest unwritten state per game; a copy of the cached one, as writing it stamps updatedAt
+    private final Map<String, Game> dirty = new LinkedHashMap<>();
+
+    private Disposable flusher;
+
+    private static final class Entry {
+        final Game game;
+        long lastAccess;
+
+        Entry(Game game, long now) {
+            this.game = game;
+            this.lastAccess = now;
+        }
+    }
+
+    public ActiveGameCache(GameRepository games,
+                           @Value("${blackjack.game-cache.enabled:false}") boolean enabled,
+                           @Value("${blackjack.game-cache.max-size:10000}") int maxSize,
+                           @Value("${blackjack.game-cache.idle-timeout:60s}") Duration idleTimeout,
+                           @Value("${blackjack.game-cache.flush-interval:250ms}") Duration flushInterval,
+                           @Value("${blackjack.game-cache.batch-size:500}") int batchSize) {
+        this.games = games;
+        this.enabled = enabled;
+        this.maxSize = maxSize;
+        this.idleNanos = idleTimeout.toNanos();
+        this.flushInterval = flushInterval;
+        this.batchSize = batchSize;
+    }
+
+    @PostConstruct
+    void start() {
+        if (enabled) {
+            flusher = Flux.interval(flushInterval)
+                    .onBackpressureDrop()
+                    .concatMap(tick -> flush())
+                    .subscribe();
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        if (flusher != null) {
+            flusher.dispose();
+            flush().block(Duration.ofSeconds(10));
+        }
+    }
+
+    /** Full game, a copy the caller may change; the cache sees it only once saved. */
+    public Mono<Game> findById(String id) {
+        if (!enabled) {
+            return games.findById(id);
+        }
+        Game cached = lookup(id);
+        if (cached != null) {
+            return Mono.just(cached.copy());
+        }
+        return games.findById(id).map(g -> track(g).copy());
+    }
+
+    /**
+     * Game for display only: a copy of the cached one if there is one, otherwise read
+     * without its shoe and not cached. See {@link GameRepository#findViewById(String)}.
+     */
+    public Mono<Game> findView(String id) {
+        if (enabled) {
+            Game cached = lookup(id);
+            if (cached != null) {
+                return Mono.just(cached.copy());
+            }
+        }
+        return games.findViewById(id);
+    }
+
+    /**
+     * Starts caching a game that has just been stored, if it is still in play. The game
+     * must not be changed afterwards; plays go through {@link #findById(String)}.
+     */
+    public Game track(Game g) {
+        if (enabled && g.getStatus() == GameStatus.PLAYER_TURN) {
+            synchronized (this) {
+                Entry e = entries.get(g.getId());
+                if (e != null) {
+                    return e.game;
+                }
+                entries.put(g.getId(), new Entry(g, System.nanoTime()));
+                evictOverflow();
+            }
+        }
+        return g;
+    }
+
+    /**
+     * Records a draw on a game still in play, which replaces the cached game and must not
+     * be changed afterwards; written back by the next flush.
+     */
+    public Mono<Game> saveDraw(Game g) {
+        if (!enabled) {
+            return games.saveDraw(g);
+        }
+        synchronized (this) {
+            // The snapshot carries the version it will be stored at
+            g.setVersion(g.getVersion() + 1);
+            dirty.put(g.getId(), g.copy());
+            entries.put(g.getId(), new Entry(g, System.nanoTime()));
+            evictOverflow();
+        }
+        return Mono.just(g);
+    }
+
+    /** Saves a game that left {@link GameStatus#PLAYER_TURN} synchronously and stops caching it. */
+    public Mono<Game> saveFinished(Game g) {
+        if (!enabled) {
+            return games.save(g);
+        }
+        Game pending;
+        synchronized (this) {
+            pending = dirty.get(g.getId());
+        }
+        // Bring the stored version up to the cached one so the versioned save matches. Until
+        // both writes succeed the game stays cached and its draws pending, so nothing the
+        // player was shown is lost if one fails.
+        Mono<Void> catchUp = pending == null ? Mono.empty() : games.saveDraws(List.of(pending))
+                .doOnSuccess(v -> written(List.of(pending)));
+        return catchUp.then(Mono.defer(() -> games.save(g)))
+                .doOnSuccess(saved -> evict(g.getId()));
+    }
+
+    public synchronized void evict(String id) {
+        entries.remove(id);
+        dirty.remove(id);
+    }
+
+    /** Expires idle games and writes every pending draw. */
+    public Mono<Void> flush() {
+        List<Game> batch;
+        synchronized (this) {
+            expireIdle(System.nanoTime());
+            batch = new ArrayList<>(dirty.values());
+        }
+        return Flux.fromIterable(batch)
+                .buffer(batchSize)
+                .concatMap(chunk -> games.saveDraws(chunk)
+                        .doOnSuccess(v -> written(chunk))
+                        .onErrorResume(e -> {
+                            log.warn("Write-behind of {} games failed, retrying on next flush", chunk.size(), e);
+                            return Mono.empty();
+                        }))
+                .then();
+    }
+
+    private synchronized Game lookup(String id) {
+        Entry e = entries.get(id);
+        if (e != null) {
+            e.lastAccess = System.nanoTime();
+            return e.game;
+        }
+        // Evicted before its last draw was written: resume from that state, not from Mongo
+        Game pending = dirty.get(id);
+        if (pending != null) {
+            Game g = pending.copy();
+            entries.put(id, new Entry(g, System.nanoTime()));
+            evictOverflow();
+            return g;
+        }
+        return null;
+    }
+
+    private synchronized void written(List<Game> chunk) {
+        for (Game g : chunk) {
+            // A newer draw may have replaced this snapshot while it was being written
+            dirty.remove(g.getId(), g);
+        }
+    }
+
+    private void evictOverflow() {
+        Iterator<Entry> it = entries.values().iterator();
+        while (entries.size() > maxSize && it.hasNext()) {
+            it.next();
+            it.remove();
+        }
+    }
+
+    private void expireIdle(long now) {
+        Iterator<Entry> it = entries.values().iterator();
+        while (it.hasNext()) {
+            Entry e = it.next();
+            if (now - e.lastAccess < idleNanos) {
+                break;
+            }
+            it.remove();
+        }
+    }
+}
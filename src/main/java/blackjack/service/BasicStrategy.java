@@ -0,0 +1,179 @@
+package blackjack.service;
+
+import blackjack.dto.PlayRequest.Action;
+import blackjack.model.Card;
+import blackjack.model.HandState;
+import blackjack.model.RuleSet;
+import org.springframework.stereotype.Component;
+
+/**
+ * Best action for every (player total, soft or hard, dealer up card), computed once
+ * from the expected value of each action and then served from a lookup table.
+ * <p>
+ * Values assume an infinite shoe and a dealer who already checked for blackjack,
+ * which is how {@link GameService} deals. There is no split, so pairs are scored
+ * by their total like any other hand.
+ */
+@Component
+public class BasicStrategy {
+
+    private static final Action[] ACTIONS = Action.values();
+    // Card values 2..11 (ace as 11); ten, jack, queen and king all count 10
+    private static final double[] P = new double[12];
+    private static final int BUST = 22;
+
+    static {
+        for (int v = 2; v <= 11; v++) {
+            P[v] = (v == 10 ? 4.0 : 1.0) / 13;
+        }
+    }
+
+    private final BlackjackEngine engine;
+    // [soft][total][up card value] -> Action ordinal, first decision and later ones
+    private final byte[][][] firstMove = new byte[2][22][12];
+    private final byte[][][] laterMove = new byte[2][22][12];
+
+    public BasicStrategy() {
+        this(RuleSet.STANDARD);
+    }
+
+    public BasicStrategy(RuleSet rules) {
+        this.engine = new BlackjackEngine(rules);
+        for (int up = 2; up <= 11; up++) {
+            build(up);
+        }
+    }
+
+    public Action decide(HandState player, Card dealerUp, boolean canDouble) {
+        return decide(player.getTotal(), player.isSoft(), dealerUp.value(), canDouble);
+    }
+
+    /** @param up dealer up card value, 2 to 11 */
+    public Action decide(int total, boolean soft, int up, boolean canDouble) {
+        if (total > 21) {
+            return Action.STAND;
+        }
+        byte[][][] table = canDouble ? firstMove : laterMove;
+        return ACTIONS[table[soft ? 1 : 0][total][up]];
+    }
+
+    private void build(int up) {
+        double[] dealer = dealerOutcomes(up);
+        double[] stand = new double[22];
+        for (int t = 4; t <= 21; t++) {
+            stand[t] = standValue(t, dealer);
+        }
+        // Best value of standing or hitting, [soft][total]; filled so every successor is known first
+        double[][] best = new double[2][23];
+        double[][] hit = new double[2][22];
+        for (int t = 21; t >= 12; t--) {
+            hit[0][t] = hitValue(t, false, best);
+            best[0][t] = Math.max(stand[t], hit[0][t]);
+        }
+        for (int t = 21; t >= 12; t--) {
+            hit[1][t] = hitValue(t, true, best);
+            best[1][t] = Math.max(stand[t], hit[1][t]);
+        }
+        for (int t = 11; t >= 4; t--) {
+            hit[0][t] = hitValue(t, false, best);
+            best[0][t] = Math.max(stand[t], hit[0][t]);
+        }
+
+        for (int soft = 0; soft <= 1; soft++) {
+            for (int t = soft == 1 ? 12 : 4; t <= 21; t++) {
+                boolean hits = hit[soft][t] > stand[t];
+                Action later = hits ? Action.HIT : Action.STAND;
+                double dbl = doubleValue(t, soft == 1, stand);
+                Action first = dbl > Math.max(stand[t], hit[soft][t]) ? Action.DOUBLE : later;
+                laterMove[soft][t][up] = (byte) later.ordinal();
+                firstMove[soft][t][up] = (byte) first.ordinal();
+            }
+        }
+    }
+
+    private double hitValue(int total, boolean soft, double[][] best) {
+        double ev = 0;
+        for (int c = 2; c <= 11; c++) {
+            int next = addTotal(total, soft, c);
+            ev += P[c] * (next == BUST ? -1 : best[addSoft(total, soft, c) ? 1 : 0][next]);
+        }
+        return ev;
+    }
+
+    private double doubleValue(int total, boolean soft, double[] stand) {
+        double ev = 0;
+        for (int c = 2; c <= 11; c++) {
+            int next = addTotal(total, soft, c);
+            ev += P[c] * (next == BUST ? -1 : stand[next]);
+        }
+        return 2 * ev;
+    }
+
+    /** @param dealer probabilities of the dealer ending on 17..21 (index 0..4) or busting (index 5) */
+    private static double standValue(int total, double[] dealer) {
+        double ev = dealer[5];
+        for (int d = 17; d <= 21; d++) {
+            if (total > d) ev += dealer[d - 17];
+            else if (total < d) ev -= dealer[d - 17];
+        }
+        return ev;
+    }
+
+    /** Final dealer outcomes for an up card, given that the hole card did not make blackjack. */
+    double[] dealerOutcomes(int up) {
+        double[] result = new double[6];
+        double excluded = up == 11 ? P[10] : up == 10 ? P[11] : 0;
+        for (int c = 2; c <= 11; c++) {
+            if ((up == 11 && c == 10) || (up == 10 && c == 11)) {
+                continue;
+            }
+            double p = P[c] / (1 - excluded);
+            int total = addTotal(up, up == 11, c);
+            double[] rest = dealerFrom(total, addSoft(up, up == 11, c));
+            for (int i = 0; i < 6; i++) {
+                result[i] += p * rest[i];
+            }
+        }
+        return result;
+    }
+
+    private double[] dealerFrom(int total, boolean soft) {
+        double[] result = new double[6];
+        if (total == BUST) {
+            result[5] = 1;
+            return result;
+        }
+        if (!engine.dealerShouldHit(total, soft)) {
+            result[total - 17] = 1;
+            return result;
+        }
+        for (int c = 2; c <= 11; c++) {
+            double[] rest = dealerFrom(addTotal(total, soft, c), addSoft(total, soft, c));
+            for (int i = 0; i < 6; i++) {
+                result[i] += P[c] * rest[i];
+            }
+        }
+        return result;
+    }
+
+    // Same scoring as HandState.add: an ace counts 11 until that would bust the hand
+    private static int addTotal(int total, boolean soft, int card) {
+        int softAces = (soft ? 1 : 0) + (card == 11 ? 1 : 0);
+        int t = total + card;
+        while (t > 21 && softAces > 0) {
+            t -= 10;
+            softAces--;
+        }
+        return t > 21 ? BUST : t;
+    }
+
+    private static boolean addSoft(int total, boolean soft, int card) {
+        int softAces = (soft ? 1 : 0) + (card == 11 ? 1 : 0);
+        int t = total + card;
+        while (t > 21 && softAces > 0) {
+            t -= 10;
+            softAces--;
+        }
+        return softAces > 0;
+    }
+}
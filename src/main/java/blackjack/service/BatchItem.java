@@ -0,0 +1,13 @@
+package blackjack.service;
+
+/** Result of one item of a batch request: a value or the error that item failed with. */
+public record BatchItem<T>(int index, T value, Throwable error) {
+
+    public static <T> BatchItem<T> ok(int index, T value) {
+        return new BatchItem<>(index, value, null);
+    }
+
+    public static <T> BatchItem<T> failed(int index, Throwable error) {
+        return new BatchItem<>(index, null, error);
+    }
+}
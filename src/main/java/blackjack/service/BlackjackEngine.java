@@ -1,26 +1,51 @@
 package blackjack.service;
 
 import blackjack.model.Card;
-import blackjack.model.Hand;
+import blackjack.model.HandState;
 import blackjack.model.Outcome;
+import blackjack.model.RuleSet;
 
 import java.util.List;
 
 public class BlackjackEngine {
 
+    private final RuleSet rules;
+
+    public BlackjackEngine() {
+        this(RuleSet.STANDARD);
+    }
+
+    public BlackjackEngine(RuleSet rules) {
+        this.rules = rules;
+    }
+
+    public RuleSet getRules() {
+        return rules;
+    }
+
     public int total(List<Card> cards) {
-        Hand h = new Hand();
-        h.setCards(cards);
-        return h.total();
+        return HandState.of(cards).getTotal();
     }
 
     public boolean dealerShouldHit(List<Card> dealerCards) {
-        return total(dealerCards) < 17;
+        return dealerShouldHit(HandState.of(dealerCards));
+    }
+
+    public boolean dealerShouldHit(HandState dealer) {
+        return dealerShouldHit(dealer.getTotal(), dealer.isSoft());
+    }
+
+    public boolean dealerShouldHit(int total, boolean soft) {
+        return total < 17 || (total == 17 && soft && rules.isDealerHitsSoft17());
     }
 
     public Outcome decideOutcome(List<Card> player, List<Card> dealer) {
-        int p = total(player);
-        int d = total(dealer);
+        return decideOutcome(HandState.of(player), HandState.of(dealer));
+    }
+
+    public Outcome decideOutcome(HandState player, HandState dealer) {
+        int p = player.getTotal();
+        int d = dealer.getTotal();
         if (p > 21) return Outcome.DEALER_WIN;
         if (d > 21) return Outcome.PLAYER_WIN;
         if (p > d) return Outcome.PLAYER_WIN;
@@ -0,0 +1,74 @@
+package blackjack.service;
+
+import blackjack.domain.mongo.Game;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Timers for game commands and the stages they go through, so a slow play can be
+ * pinned on loading, engine logic, saving the game or settling the balance.
+ * Every timer also counts, and publishes a histogram for percentiles.
+ */
+@Component
+public class BlackjackMetrics {
+
+    static final String COMMAND = "blackjack.game.command";
+    static final String STAGE = "blackjack.game.stage";
+    static final String PLAYER = "blackjack.player.operation";
+
+    private final MeterRegistry registry;
+
+    public BlackjackMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    /** Times a whole command, tagged with the outcome of the game it leaves behind. */
+    public Mono<Game> command(String action, Mono<Game> command) {
+        return Mono.defer(() -> {
+            Timer.Sample sample = Timer.start(registry);
+            return command
+                    .doOnSuccess(g -> sample.stop(timer(COMMAND, Tags.of("action", action, "outcome", outcomeOf(g)))))
+                    .doOnError(e -> sample.stop(timer(COMMAND, Tags.of("action", action, "outcome", "ERROR"))));
+        });
+    }
+
+    /** Times one persistence stage of a command: {@code load} or {@code save}. */
+    public <T> Mono<T> stage(String stage, String action, Mono<T> mono) {
+        return timed(STAGE, Tags.of("stage", stage, "action", action), mono);
+    }
+
+    /** Records the in-memory part of a command, which runs synchronously. */
+    public void engine(String action, long startNanos) {
+        timer(STAGE, Tags.of("stage", "engine", "action", action, "result", "ok"))
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public <T> Mono<T> player(String operation, Mono<T> mono) {
+        return timed(PLAYER, Tags.of("operation", operation), mono);
+    }
+
+    private <T> Mono<T> timed(String name, Tags tags, Mono<T> mono) {
+        return Mono.defer(() -> {
+            Timer.Sample sample = Timer.start(registry);
+            return mono
+                    .doOnSuccess(v -> sample.stop(timer(name, tags.and("result", "ok"))))
+                    .doOnError(e -> sample.stop(timer(name, tags.and("result", "error"))));
+        });
+    }
+
+    private Timer timer(String name, Tags tags) {
+        return Timer.builder(name)
+                .tags(tags)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    private static String outcomeOf(Game g) {
+        return g == null || g.getOutcome() == null ? "IN_PLAY" : g.getOutcome().name();
+    }
+}
@@ -0,0 +1,118 @@
+package blackjack.service;
+
+import blackjack.model.Card;
+import blackjack.model.HandState;
+import blackjack.model.Shoe;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Exact probabilities of the dealer's final total if the player stood now, drawing
+ * from the cards actually left in the shoe. Every (shoe composition, dealer score)
+ * reached by the recursion is memoized, so repeated questions about a game, and
+ * about games that share compositions, are answered from the cache.
+ * <p>
+ * Compositions are packed into a long: four bits for each of the nine non-ten
+ * values and six bits for the ten-valued cards, enough for a three-deck shoe.
+ */
+@Component
+public class DealerOddsCalculator {
+
+    /** Index of the bust probability in a result; indexes 0..4 are totals 17..21. */
+    public static final int BUST = 5;
+
+    private static final int MAX_PER_RANK = 15;
+    private static final int MAX_TENS = 63;
+
+    private static final double[][] TERMINAL = new double[BUST + 1][BUST + 1];
+
+    static {
+        for (int i = 0; i <= BUST; i++) {
+            TERMINAL[i][i] = 1;
+        }
+    }
+
+    private final BlackjackEngine engine = new BlackjackEngine();
+    private final int cacheSize;
+    private final ConcurrentHashMap<Long, double[]> cache = new ConcurrentHashMap<>();
+
+    public DealerOddsCalculator(@Value("${blackjack.odds.cache-size:200000}") int cacheSize) {
+        this.cacheSize = cacheSize;
+    }
+
+    /**
+     * @return probabilities of ending on 17, 18, 19, 20, 21 or busting, or null if the
+     *         shoe holds more cards than a key can describe
+     */
+    public double[] dealerOutcomes(HandState dealer, Shoe shoe) {
+        int[] counts = new int[12];
+        byte[] cards = shoe.getCards();
+        for (int i = shoe.getCursor(); i < cards.length; i++) {
+            counts[Card.ofOrdinal(cards[i]).value()]++;
+        }
+        for (int v = 2; v <= 11; v++) {
+            if (counts[v] > (v == 10 ? MAX_TENS : MAX_PER_RANK)) {
+                return null;
+            }
+        }
+        if (cache.size() > cacheSize) {
+            // Cheaper than LRU bookkeeping on a cache whose entries are all cheap to rebuild
+            cache.clear();
+        }
+        return outcomes(dealer.getTotal(), dealer.isSoft(), counts, shoe.remaining()).clone();
+    }
+
+    private double[] outcomes(int total, boolean soft, int[] counts, int remaining) {
+        if (total > 21) {
+            return TERMINAL[BUST];
+        }
+        if (!engine.dealerShouldHit(total, soft)) {
+            return TERMINAL[total - 17];
+        }
+        if (remaining == 0) {
+            // The game would stop with "Deck exhausted"; no final total to report
+            return new double[BUST + 1];
+        }
+        long key = key(total, soft, counts);
+        double[] known = cache.get(key);
+        if (known != null) {
+            return known;
+        }
+        double[] result = new double[BUST + 1];
+        for (int v = 2; v <= 11; v++) {
+            int n = counts[v];
+            if (n == 0) {
+                continue;
+            }
+            double p = (double) n / remaining;
+            counts[v]--;
+            int softAces = (soft ? 1 : 0) + (v == 11 ? 1 : 0);
+            int next = total + v;
+            while (next > 21 && softAces > 0) {
+                next -= 10;
+                softAces--;
+            }
+            double[] rest = outcomes(next, softAces > 0, counts, remaining - 1);
+            counts[v]++;
+            for (int i = 0; i <= BUST; i++) {
+                result[i] += p * rest[i];
+            }
+        }
+        cache.put(key, result);
+        return result;
+    }
+
+    private static long key(int total, boolean soft, int[] counts) {
+        long key = 0;
+        for (int v = 2; v <= 11; v++) {
+            if (v == 10) {
+                key = (key << 6) | counts[v];
+            } else {
+                key = (key << 4) | counts[v];
+            }
+        }
+        return (key << 6) | ((long) total << 1) | (soft ? 1 : 0);
+    }
+}
@@ -0,0 +1,120 @@
+package blackjack.service;
+
+import blackjack.domain.mongo.ArchivedGame;
+import blackjack.domain.mongo.Game;
+import blackjack.domain.mongo.Settlement;
+import blackjack.model.GameStatus;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
+import org.springframework.data.mongodb.core.ReactiveBulkOperations;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Optional background job that moves finished games older than a minimum age from
+ * {@code games} to {@code games_archive}, as {@link ArchivedGame} records.
+ * <p>
+ * Each batch is written to the archive before it is removed from {@code games}, and
+ * archive writes are keyed by game ID, so a batch cut short is simply redone on the
+ * next run. Several instances may run it at once.
+ */
+@Component
+public class GameArchiver {
+
+    private static final Logger log = LoggerFactory.getLogger(GameArchiver.class);
+
+    private final ReactiveMongoTemplate mongo;
+    private final boolean enabled;
+    private final Duration interval;
+    private final Duration minAge;
+    private final int batchSize;
+
+    private Disposable job;
+
+    public GameArchiver(ReactiveMongoTemplate mongo,
+                        @Value("${blackjack.archive.enabled:false}") boolean enabled,
+                        @Value("${blackjack.archive.interval:1m}") Duration interval,
+                        @Value("${blackjack.archive.min-age:1h}") Duration minAge,
+                        @Value("${blackjack.archive.batch-size:500}") int batchSize) {
+        this.mongo = mongo;
+        this.enabled = enabled;
+        this.interval = interval;
+        this.minAge = minAge;
+        this.batchSize = batchSize;
+    }
+
+    @PostConstruct
+    void start() {
+        if (enabled) {
+            job = Flux.interval(interval)
+                    .onBackpressureDrop()
+                    .concatMap(tick -> archiveAll()
+                            .onErrorResume(e -> {
+                                log.warn("Archiving finished games failed, retrying on next run", e);
+                                return Mono.empty();
+                            }))
+                    .subscribe();
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        if (job != null) {
+            job.dispose();
+        }
+    }
+
+    /** Archives batches until no finished game is old enough; completes with the number moved. */
+    public Mono<Long> archiveAll() {
+        return Mono.defer(() -> archiveBatch(Instant.now().minus(minAge)))
+                .repeat()
+                .takeUntil(moved -> moved < batchSize)
+                .reduce(0L, Long::sum)
+                .doOnNext(total -> {
+                    if (total > 0) {
+                        log.info("Archived {} finished games", total);
+                    }
+                });
+    }
+
+    Mono<Long> archiveBatch(Instant finishedBefore) {
+        // A game whose settlement is still in the outbox stays until the relay has applied it;
+        // one the relay gave up on stays for someone to look into
+        Query query = Query.query(Criteria.where("status").is(GameStatus.FINISHED).and("updatedAt").lt(finishedBefore)
+                        .and("settlement.status").nin(Settlement.Status.PENDING, Settlement.Status.FAILED))
+                .with(Sort.by("updatedAt"))
+                .limit(batchSize);
+        query.fields().exclude("shoe").exclude("deck");
+        return mongo.find(query, Game.class)
+                .collectList()
+                .flatMap(batch -> batch.isEmpty() ? Mono.just(0L) : move(batch));
+    }
+
+    private Mono<Long> move(List<Game> batch) {
+        ReactiveBulkOperations bulk = mongo.bulkOps(BulkOperations.BulkMode.UNORDERED, ArchivedGame.class);
+        for (Game g : batch) {
+            bulk.replaceOne(Query.query(Criteria.where("_id").is(g.getId())), ArchivedGame.from(g),
+                    FindAndReplaceOptions.options().upsert());
+        }
+        List<String> ids = batch.stream().map(Game::getId).toList();
+        return bulk.execute()
+                .then(mongo.remove(Query.query(Criteria.where("_id").in(ids)
+                        .and("status").is(GameStatus.FINISHED)), Game.class))
+                .thenReturn((long) batch.size());
+    }
+}
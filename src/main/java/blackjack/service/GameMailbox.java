@@ -0,0 +1,38 @@
+package blackjack.service;
+
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Runs commands for the same game one after another, without blocking a thread.
+ * Each command waits for the completion of the one submitted before it; games
+ * with nothing queued take no space.
+ */
+@Component
+public class GameMailbox {
+
+    // Completion signal of the last command submitted per game
+    private final ConcurrentHashMap<String, Mono<Void>> tails = new ConcurrentHashMap<>();
+
+    public <T> Mono<T> submit(String gameId, Supplier<Mono<T>> command) {
+        return Mono.defer(() -> {
+            Sinks.Empty<Void> done = Sinks.empty();
+            Mono<Void> tail = done.asMono();
+            Mono<Void> previous = tails.put(gameId, tail);
+            Mono<Void> turn = previous == null ? Mono.empty() : previous;
+            return turn.then(Mono.defer(command))
+                    .doFinally(signal -> {
+                        tails.remove(gameId, tail);
+                        done.tryEmitEmpty();
+                    });
+        });
+    }
+
+    int queued() {
+        return tails.size();
+    }
+}
@@ -2,172 +2,400 @@ package blackjack.service;
 
 import blackjack.domain.mongo.Game;
 import blackjack.domain.mongo.GameRepository;
+import blackjack.domain.mongo.Settlement;
+import blackjack.dto.DealerOdds;
+import blackjack.dto.BatchPlayRequest;
+import blackjack.dto.GameHistoryEntry;
 import blackjack.dto.PlayRequest;
 import blackjack.dto.PlayRequest.Action;
 import blackjack.exception.BadRequestException;
+import blackjack.exception.ConflictException;
 import blackjack.exception.NotFoundException;
 import blackjack.model.Card;
-import blackjack.model.Deck;
 import blackjack.model.GameStatus;
-import blackjack.model.Hand;
+import blackjack.model.Money;
 import blackjack.model.Outcome;
+import blackjack.model.Shoe;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
-import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
 
 @Service
 public class GameService {
 
+    // Action tag of game creation in metrics
+    private static final String NEW = "NEW";
+    private static final Comparator<GameHistoryEntry> HISTORY_ORDER = Comparator
+            .comparing(GameHistoryEntry::getCreatedAt, Comparator.nullsLast(Comparator.reverseOrder()))
+            .thenComparing(GameHistoryEntry::getId, Comparator.reverseOrder());
+
     private final GameRepository games;
     private final PlayerService players;
+    private final ActiveGameCache cache;
+    private final GameMailbox mailbox;
+    private final BasicStrategy strategy;
+    private final DealerOddsCalculator dealerOdds;
+    private final StatisticsService stats;
+    private final SettlementRelay relay;
+    private final BlackjackMetrics metrics;
+    private final int batchConcurrency;
+    private final int batchMaxItems;
+    // Where new games get their cards; tests swap in a known order
+    Supplier<Shoe> newShoe = Shoe::newShuffled;
     private final BlackjackEngine engine = new BlackjackEngine();
 
-    public GameService(GameRepository games, PlayerService players) {
+    public GameService(GameRepository games, PlayerService players, ActiveGameCache cache, GameMailbox mailbox,
+                       BasicStrategy strategy, DealerOddsCalculator dealerOdds, StatisticsService stats,
+                       SettlementRelay relay, BlackjackMetrics metrics,
+                       @Value("${blackjack.batch.concurrency:32}") int batchConcurrency,
+                       @Value("${blackjack.batch.max-items:1000}") int batchMaxItems) {
         this.games = games;
         this.players = players;
+        this.cache = cache;
+        this.mailbox = mailbox;
+        this.strategy = strategy;
+        this.dealerOdds = dealerOdds;
+        this.stats = stats;
+        this.relay = relay;
+        this.metrics = metrics;
+        this.batchConcurrency = batchConcurrency;
+        this.batchMaxItems = batchMaxItems;
     }
 
     public Mono<Game> createNewGame(String playerName) {
-        return players.findOrCreate(playerName)
-                .flatMap(player -> {
-                    Game g = new Game();
-                    g.setPlayerId(player.getId());
-                    g.setDeck(Deck.newShuffled());
-
-                    // Reparto inicial
-                    List<Card> deck = g.getDeck();
-                    g.getPlayerHand().add(deck.remove(0));
-                    g.getDealerHand().add(deck.remove(0));
-                    g.getPlayerHand().add(deck.remove(0));
-                    g.getDealerHand().add(deck.remove(0));
-
-                    Hand playerHand = new Hand();
-                    playerHand.setCards(g.getPlayerHand());
-
-                    Hand dealerHand = new Hand();
-                    dealerHand.setCards(g.getDealerHand());
-
-                    boolean playerBJ = playerHand.isBlackjack();
-                    boolean dealerBJ = dealerHand.isBlackjack();
-
-                    if (playerBJ && dealerBJ) {
-                        g.setStatus(GameStatus.FINISHED);
-                        g.setOutcome(Outcome.PUSH);
-                        g.setBet(BigDecimal.ONE);
-                        return games.save(g); // empate, no cambia balance
-                    } else if (playerBJ) {
-                        g.setStatus(GameStatus.FINISHED);
-                        g.setOutcome(Outcome.PLAYER_BLACKJACK);
-                        g.setBet(BigDecimal.ONE);
-                        return endAndPersist(g, true);
-                    } else if (dealerBJ) {
-                        g.setStatus(GameStatus.FINISHED);
-                        g.setOutcome(Outcome.DEALER_WIN);
-                        g.setBet(BigDecimal.ONE);
-                        return endAndPersist(g, false);
-                    } else {
-                        g.setStatus(GameStatus.PLAYER_TURN);
-                        return games.save(g);
+        return metrics.command(NEW, players.findOrCreateId(playerName)
+                .flatMap(playerId -> persistNew(deal(playerId))));
+    }
+
+    /**
+     * Creates one game per name; each result carries the index of its name. Every
+     * distinct name is looked up once, and games still in play are stored with a
+     * single bulk insert. A failure only fails the items it concerns.
+     */
+    public Flux<BatchItem<Game>> createNewGames(List<String> playerNames) {
+        if (playerNames.size() > batchMaxItems) {
+            return Flux.error(tooManyItems());
+        }
+        return Flux.fromIterable(new LinkedHashSet<>(playerNames))
+                .filter(GameService::validName)
+                .flatMap(name -> players.findOrCreateId(name)
+                        .map(p -> BatchItem.ok(0, p))
+                        .onErrorResume(e -> Mono.just(BatchItem.failed(0, e)))
+                        .map(item -> Map.entry(name, item)), batchConcurrency)
+                .collectMap(Map.Entry::getKey, Map.Entry::getValue)
+                .flatMapMany(byName -> {
+                    List<BatchItem<Game>> done = new ArrayList<>();
+                    List<Integer> insertAt = new ArrayList<>();
+                    List<Game> toInsert = new ArrayList<>();
+                    List<Mono<BatchItem<Game>>> settled = new ArrayList<>();
+                    for (int i = 0; i < playerNames.size(); i++) {
+                        if (!validName(playerNames.get(i))) {
+                            done.add(BatchItem.failed(i, new BadRequestException("playerName must not be blank")));
+                            continue;
+                        }
+                        BatchItem<Long> player = byName.get(playerNames.get(i));
+                        if (player.error() != null) {
+                            done.add(BatchItem.failed(i, player.error()));
+                            continue;
+                        }
+                        Game g = deal(player.value());
+                        if (g.getStatus() == GameStatus.PLAYER_TURN || g.getOutcome() == Outcome.PUSH) {
+                            insertAt.add(i);
+                            toInsert.add(g);
+                        } else {
+                            settled.add(batchItem(i, metrics.command(NEW, persistNew(g))));
+                        }
                     }
+                    Flux<BatchItem<Game>> inserted = toInsert.isEmpty() ? Flux.empty() : games.insertAll(toInsert)
+                            .flatMap(failed -> {
+                                List<BatchItem<Game>> items = new ArrayList<>(toInsert.size());
+                                // Pushes on the deal are finished but move no money, so they are inserted too
+                                List<Game> pushes = new ArrayList<>();
+                                for (int j = 0; j < toInsert.size(); j++) {
+                                    Game g = toInsert.get(j);
+                                    if (failed.containsKey(j)) {
+                                        items.add(BatchItem.failed(insertAt.get(j), failed.get(j)));
+                                        continue;
+                                    }
+                                    if (g.getStatus() == GameStatus.FINISHED) {
+                                        pushes.add(g);
+                                    }
+                                    items.add(BatchItem.ok(insertAt.get(j), cache.track(g)));
+                                }
+                                return stats.recordAll(pushes).thenReturn(items);
+                            })
+                            .onErrorResume(e -> Mono.just(insertAt.stream()
+                                    .map(i -> BatchItem.<Game>failed(i, e))
+                                    .toList()))
+                            .flatMapMany(Flux::fromIterable);
+                    return Flux.concat(Flux.fromIterable(done), inserted,
+                            Flux.fromIterable(settled).flatMap(m -> m, batchConcurrency));
                 });
     }
 
+    /** Applies each action on its own game, with bounded concurrency; see {@link #createNewGames}. */
+    public Flux<BatchItem<Game>> playAll(List<BatchPlayRequest> requests) {
+        if (requests.size() > batchMaxItems) {
+            return Flux.error(tooManyItems());
+        }
+        return Flux.range(0, requests.size())
+                .flatMap(i -> {
+                    BatchPlayRequest req = requests.get(i);
+                    if (req.getGameId() == null || req.getGameId().isBlank() || req.getAction() == null) {
+                        return Mono.just(BatchItem.failed(i, new BadRequestException("gameId and action are required")));
+                    }
+                    return batchItem(i, play(req.getGameId(), req));
+                }, batchConcurrency);
+    }
+
+    private BadRequestException tooManyItems() {
+        return new BadRequestException("At most " + batchMaxItems + " items per batch");
+    }
+
+    private static boolean validName(String name) {
+        return name != null && !name.isBlank();
+    }
+
+    private static <T> Mono<BatchItem<T>> batchItem(int index, Mono<T> result) {
+        return result.map(v -> BatchItem.ok(index, v))
+                .onErrorResume(e -> Mono.just(BatchItem.failed(index, e)));
+    }
+
+    private Game deal(Long playerId) {
+        long start = System.nanoTime();
+        Game g = new Game();
+        g.setPlayerId(playerId);
+        g.setShoe(newShoe.get());
+
+        // Reparto inicial
+        Shoe shoe = g.getShoe();
+        g.addPlayerCard(shoe.draw());
+        g.addDealerCard(shoe.draw());
+        g.addPlayerCard(shoe.draw());
+        g.addDealerCard(shoe.draw());
+
+        boolean playerBJ = g.getPlayerState().isBlackjack();
+        boolean dealerBJ = g.getDealerState().isBlackjack();
+
+        if (playerBJ || dealerBJ) {
+            g.setStatus(GameStatus.FINISHED);
+            g.setBet(Money.ONE);
+            if (playerBJ && dealerBJ) {
+                g.setOutcome(Outcome.PUSH);
+            } else {
+                g.setOutcome(playerBJ ? Outcome.PLAYER_BLACKJACK : Outcome.DEALER_WIN);
+            }
+        } else {
+            g.setStatus(GameStatus.PLAYER_TURN);
+        }
+        metrics.engine(NEW, start);
+        return g;
+    }
+
+    private Mono<Game> persistNew(Game g) {
+        if (g.getStatus() == GameStatus.PLAYER_TURN) {
+            return metrics.stage("save", NEW, games.save(g)).map(cache::track);
+        }
+        return switch (g.getOutcome()) {
+            case PUSH -> metrics.stage("save", NEW, games.save(g)) // empate, no cambia balance
+                    .flatMap(s -> stats.record(s).thenReturn(s));
+            case PLAYER_BLACKJACK -> endAndPersist(g, true, NEW);
+            default -> endAndPersist(g, false, NEW);
+        };
+    }
+
     public Mono<Game> get(String id) {
-        return games.findById(id)
+        return cache.findById(id)
                 .switchIfEmpty(Mono.error(new NotFoundException("Game " + id + " not found")));
     }
 
+    /** Like {@link #get(String)} but without the shoe, for reads that only show the hands. */
+    public Mono<Game> getView(String id) {
+        return cache.findView(id)
+                .switchIfEmpty(Mono.error(new NotFoundException("Game " + id + " not found")));
+    }
+
+    /** Like {@link #getView(String)}, failing with {@link BadRequestException} if the game is over. */
+    public Mono<Game> getInPlay(String id) {
+        return getView(id).flatMap(g -> g.getStatus() == GameStatus.FINISHED
+                ? Mono.error(new BadRequestException("Game already finished"))
+                : Mono.just(g));
+    }
+
+    /** Basic-strategy action for the player's hand against the dealer's first card. */
+    public Action hint(Game g) {
+        return strategy.decide(g.getPlayerState(), g.getDealerHand().get(0), g.getPlayerHand().size() == 2);
+    }
+
+    /** Dealer's chances if the player stood now, or null once the game is over. */
+    public DealerOdds odds(Game g) {
+        if (g.getStatus() == GameStatus.FINISHED) {
+            return null;
+        }
+        double[] p = dealerOdds.dealerOutcomes(g.getDealerState(), g.getShoe());
+        if (p == null) {
+            return null;
+        }
+        Map<Integer, Double> totals = new LinkedHashMap<>();
+        for (int t = 17; t <= 21; t++) {
+            totals.put(t, p[t - 17]);
+        }
+        return new DealerOdds(p[DealerOddsCalculator.BUST], totals);
+    }
+
+    /**
+     * Every game of a player, newest first, live and archived ones merged; resumes after
+     * the game whose entry carried {@code after}. Streamed from database cursors, so
+     * memory does not grow with the length of the history. A game archived while the
+     * stream is open may be skipped.
+     */
+    public Flux<GameHistoryEntry> history(Long playerId, String after, int limit) {
+        if (limit < 0) {
+            return Flux.error(new BadRequestException("limit must not be negative"));
+        }
+        return Flux.defer(() -> {
+                    HistoryCursor from = after == null || after.isBlank() ? null : HistoryCursor.decode(after);
+                    Instant before = from == null ? null : from.createdAt();
+                    String idBefore = from == null ? null : from.id();
+                    Flux<GameHistoryEntry> live = games.findHistory(playerId, before, idBefore, limit)
+                            .map(GameHistoryEntry::from);
+                    Flux<GameHistoryEntry> archived = games.findArchivedHistory(playerId, before, idBefore, limit)
+                            .map(GameHistoryEntry::from);
+                    Flux<GameHistoryEntry> merged = Flux.mergeComparing(HISTORY_ORDER, live, archived)
+                            // A game archived mid-stream can show up in both
+                            .distinctUntilChanged(GameHistoryEntry::getId);
+                    return players.requireExists(playerId).thenMany(limit > 0 ? merged.take(limit) : merged);
+                })
+                .doOnNext(e -> e.setCursor(new HistoryCursor(e.getCreatedAt(), e.getId()).encode()));
+    }
+
     public Mono<Void> delete(String id) {
+        cache.evict(id);
         return games.deleteById(id);
     }
 
+    /**
+     * Applies one action. Actions on the same game run one at a time on this instance;
+     * a game changed meanwhile by another instance fails with {@link ConflictException}.
+     */
     public Mono<Game> play(String id, PlayRequest req) {
+        String action = req.getAction() == null ? "NONE" : req.getAction().name();
+        return metrics.command(action, mailbox.submit(id, () -> apply(id, req)))
+                .onErrorMap(OptimisticLockingFailureException.class,
+                        e -> new ConflictException("Game " + id + " was modified concurrently, reload it and retry"));
+    }
+
+    private Mono<Game> apply(String id, PlayRequest req) {
         Action action = req.getAction();
-        BigDecimal bet = req.getBet() == null ? BigDecimal.ONE : req.getBet();
+        Money bet = req.getBet() == null ? Money.ONE : req.getBet();
+        String tag = action.name();
 
-        return get(id).flatMap(g -> {
+        // The cache hands out a copy, so an action that fails halfway leaves the cached game as it was
+        return metrics.stage("load", tag, get(id)).flatMap(g -> {
             if (g.getStatus() == GameStatus.FINISHED) {
                 return Mono.error(new BadRequestException("Game already finished"));
             }
+            long start = System.nanoTime();
 
-            if (g.getBet().compareTo(BigDecimal.ZERO) == 0 && bet.compareTo(BigDecimal.ZERO) <= 0) {
+            if (g.getBet().isZero() && !bet.isPositive()) {
                 return Mono.error(new BadRequestException("Bet must be positive on first move"));
             }
-            if (g.getBet().compareTo(BigDecimal.ZERO) == 0) {
+            if (g.getBet().isZero()) {
                 g.setBet(bet);
             }
 
-            switch (action) {
-                case HIT -> {
-                    draw(g.getPlayerHand(), g.getDeck());
-                    Hand playerHand = new Hand();
-                    playerHand.setCards(g.getPlayerHand());
-                    if (playerHand.isBust()) {
-                        g.setStatus(GameStatus.FINISHED);
-                        g.setOutcome(Outcome.DEALER_WIN);
-                        return endAndPersist(g, false);
-                    } else {
-                        return games.save(g);
-                    }
-                }
-                case STAND -> {
-                    dealerPlay(g);
+            Mono<Game> persisted = applyAction(g, action, tag);
+            metrics.engine(tag, start);
+            return persisted;
+        });
+    }
+
+    /** Changes the game in memory and returns the write that persists it. */
+    private Mono<Game> applyAction(Game g, Action action, String tag) {
+        switch (action) {
+            case HIT -> {
+                drawPlayer(g);
+                if (g.getPlayerState().isBust()) {
                     g.setStatus(GameStatus.FINISHED);
-                    g.setOutcome(engine.decideOutcome(g.getPlayerHand(), g.getDealerHand()));
-                    return endAndPersist(g, g.getOutcome() == Outcome.PLAYER_WIN);
+                    g.setOutcome(Outcome.DEALER_WIN);
+                    return endAndPersist(g, false, tag);
+                } else {
+                    return metrics.stage("save", tag, cache.saveDraw(g));
                 }
-                case DOUBLE -> {
-                    if (g.getPlayerHand().size() != 2) {
-                        return Mono.error(new BadRequestException("DOUBLE only allowed on first turn"));
-                    }
-                    g.setBet(g.getBet().multiply(BigDecimal.valueOf(2)));
-                    draw(g.getPlayerHand(), g.getDeck());
-
-                    Hand handAfterDouble = new Hand();
-                    handAfterDouble.setCards(g.getPlayerHand());
-                    if (handAfterDouble.isBust()) {
-                        g.setStatus(GameStatus.FINISHED);
-                        g.setOutcome(Outcome.DEALER_WIN);
-                        return endAndPersist(g, false);
-                    } else {
-                        dealerPlay(g);
-                        g.setStatus(GameStatus.FINISHED);
-                        g.setOutcome(engine.decideOutcome(g.getPlayerHand(), g.getDealerHand()));
-                        return endAndPersist(g, g.getOutcome() == Outcome.PLAYER_WIN);
-                    }
+            }
+            case STAND -> {
+                dealerPlay(g);
+                g.setStatus(GameStatus.FINISHED);
+                g.setOutcome(engine.decideOutcome(g.getPlayerState(), g.getDealerState()));
+                return endAndPersist(g, g.getOutcome() == Outcome.PLAYER_WIN, tag);
+            }
+            case DOUBLE -> {
+                if (g.getPlayerHand().size() != 2) {
+                    return Mono.error(new BadRequestException("DOUBLE only allowed on first turn"));
                 }
-                default -> {
-                    return Mono.error(new BadRequestException("Unsupported action"));
+                g.setBet(g.getBet().times(2));
+                g.setDoubled(true);
+                drawPlayer(g);
+
+                if (g.getPlayerState().isBust()) {
+                    g.setStatus(GameStatus.FINISHED);
+                    g.setOutcome(Outcome.DEALER_WIN);
+                    return endAndPersist(g, false, tag);
+                } else {
+                    dealerPlay(g);
+                    g.setStatus(GameStatus.FINISHED);
+                    g.setOutcome(engine.decideOutcome(g.getPlayerState(), g.getDealerState()));
+                    return endAndPersist(g, g.getOutcome() == Outcome.PLAYER_WIN, tag);
                 }
             }
-        });
+            default -> {
+                return Mono.error(new BadRequestException("Unsupported action"));
+            }
+        }
     }
 
-    private Mono<Game> endAndPersist(Game g, boolean playerWon) {
-        Mono<Game> saved = games.save(g);
-        BigDecimal amount = g.getBet().compareTo(BigDecimal.ZERO) > 0 ? g.getBet() : BigDecimal.ONE;
-
-        boolean blackjackWin = g.getOutcome() == Outcome.PLAYER_BLACKJACK;
+    /**
+     * Saves a finished game together with the settlement it owes, then leaves applying
+     * the settlement to {@link SettlementRelay}: the player's balance is updated shortly
+     * after the response, never before the game is stored.
+     */
+    private Mono<Game> endAndPersist(Game g, boolean playerWon, String action) {
+        Money amount = g.getBet().isPositive() ? g.getBet() : Money.ONE;
+        if (playerWon && g.getOutcome() == Outcome.PLAYER_BLACKJACK) {
+            amount = engine.getRules().blackjackWin(amount);
+        }
+        g.setSettlement(new Settlement(playerWon, amount));
 
-        return saved.flatMap(s -> (playerWon
-                ? players.recordWin(s.getPlayerId(),
-                blackjackWin ? amount.multiply(BigDecimal.valueOf(1.5)) : amount)
-                : players.recordLoss(s.getPlayerId(), amount)
-        ).thenReturn(s));
+        return metrics.stage("save", action, cache.saveFinished(g))
+                .doOnNext(s -> relay.wake())
+                .flatMap(s -> stats.record(s).thenReturn(s));
     }
 
     private void dealerPlay(Game g) {
-        while (engine.dealerShouldHit(g.getDealerHand())) {
-            draw(g.getDealerHand(), g.getDeck());
+        while (engine.dealerShouldHit(g.getDealerState())) {
+            g.addDealerCard(draw(g.getShoe()));
         }
     }
 
-    private void draw(List<Card> hand, List<Card> deck) {
-        if (deck.isEmpty()) {
+    private void drawPlayer(Game g) {
+        g.addPlayerCard(draw(g.getShoe()));
+    }
+
+    private Card draw(Shoe shoe) {
+        if (shoe.isEmpty()) {
             throw new BadRequestException("Deck exhausted");
         }
-        hand.add(deck.remove(0));
+        return shoe.draw();
     }
 }
@@ -0,0 +1,29 @@
+package blackjack.service;
+
+import blackjack.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+/** Position in a player's history: creation time and id of the last game returned. */
+record HistoryCursor(Instant createdAt, String id) {
+
+    String encode() {
+        String raw = createdAt.toEpochMilli() + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static HistoryCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split(":", 2);
+            if (parts.length == 2 && !parts[1].isEmpty()) {
+                return new HistoryCursor(Instant.ofEpochMilli(Long.parseLong(parts[0])), parts[1]);
+            }
+        } catch (IllegalArgumentException e) {
+            // Malformed; same answer as a well-formed cursor that is not ours
+        }
+        throw new BadRequestException("Invalid history cursor");
+    }
+}
@@ -0,0 +1,188 @@
+package blackjack.service;
+
+import blackjack.domain.mysql.Player;
+import blackjack.domain.mysql.PlayerRepository;
+import blackjack.dto.PlayerRanking;
+import blackjack.model.Money;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.function.UnaryOperator;
+
+/**
+ * Top players by wins, kept in memory. Loaded from MySQL at startup and updated from
+ * each game this instance settles, so ranking requests never touch the database.
+ * Every change of the top list is also multicast to {@link #updates()} subscribers.
+ * <p>
+ * Other instances settle games too, so the list is also reloaded from MySQL on an
+ * interval; a board lags the other instances' games by at most that long.
+ */
+@Component
+public class Leaderboard {
+
+    private static final Logger log = LoggerFactory.getLogger(Leaderboard.class);
+
+    public static final int SIZE = 20;
+
+    static final Comparator<PlayerRanking> ORDER = Comparator
+            .comparingInt(PlayerRanking::getWins).reversed()
+            .thenComparing(PlayerRanking::getId);
+
+    private final PlayerRepository repo;
+    private final Duration reloadInterval;
+
+    private final TreeSet<PlayerRanking> board = new TreeSet<>(ORDER);
+    private final Map<Long, PlayerRanking> members = new HashMap<>();
+    private volatile List<PlayerRanking> top = List.of();
+    private volatile boolean loaded;
+
+    private final Sinks.Many<List<PlayerRanking>> changes = Sinks.many().replay().latest();
+    private Disposable reloads;
+
+    public Leaderboard(PlayerRepository repo,
+                       @Value("${blackjack.leaderboard.reload-interval:5s}") Duration reloadInterval) {
+        this.repo = repo;
+        this.reloadInterval = reloadInterval;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        Flux<Long> ticks = reloadInterval.isZero() ? Flux.just(0L) : Flux.interval(Duration.ZERO, reloadInterval);
+        reloads = ticks.onBackpressureDrop()
+                .concatMap(tick -> reload()
+                        .onErrorResume(e -> {
+                            log.warn(loaded ? "Could not reload leaderboard, keeping the current one"
+                                    : "Could not load leaderboard, serving ranking from MySQL", e);
+                            return Mono.empty();
+                        }), 1)
+                .subscribe();
+    }
+
+    @PreDestroy
+    void stop() {
+        if (reloads != null) {
+            reloads.dispose();
+        }
+    }
+
+    Mono<Void> reload() {
+        return repo.findTop20ByOrderByWinsDescIdAsc()
+                .map(PlayerRanking::from)
+                .collectList()
+                .doOnNext(this::replaceAll)
+                .then();
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /** Current top players, best first. Never blocks. */
+    public List<PlayerRanking> top() {
+        return top;
+    }
+
+    /**
+     * Snapshots of the top list, starting with the current one and then one per change.
+     * A slow subscriber skips intermediate snapshots and only gets the latest.
+     */
+    public Flux<List<PlayerRanking>> updates() {
+        return changes.asFlux().onBackpressureLatest();
+    }
+
+    public void onWin(Long playerId, Money amount) {
+        if (!applyIfMember(playerId, r -> new PlayerRanking(r.getId(), r.getName(), r.getGamesPlayed() + 1,
+                r.getWins() + 1, r.getLosses(), r.getBalance().plus(amount)))) {
+            // One more win may lift an outsider onto the board; only MySQL knows its total
+            refresh(playerId);
+        }
+    }
+
+    public void onLoss(Long playerId, Money amount) {
+        if (!applyIfMember(playerId, r -> new PlayerRanking(r.getId(), r.getName(), r.getGamesPlayed() + 1,
+                r.getWins(), r.getLosses() + 1, r.getBalance().minus(amount)))) {
+            if (!isFull()) {
+                refresh(playerId);
+            }
+        }
+    }
+
+    public void onRename(Player p) {
+        applyIfMember(p.getId(), r -> new PlayerRanking(r.getId(), p.getName(), r.getGamesPlayed(),
+                r.getWins(), r.getLosses(), r.getBalance()));
+    }
+
+    synchronized void offer(PlayerRanking r) {
+        insert(r);
+        publish();
+    }
+
+    synchronized void replaceAll(List<PlayerRanking> rankings) {
+        board.clear();
+        members.clear();
+        rankings.forEach(this::insert);
+        // One snapshot for the whole load; the first one goes out even if the board is empty
+        List<PlayerRanking> next = List.copyOf(board);
+        if (!loaded || !next.equals(top)) {
+            top = next;
+            changes.tryEmitNext(next);
+        }
+        loaded = true;
+    }
+
+    private void insert(PlayerRanking r) {
+        PlayerRanking old = members.remove(r.getId());
+        if (old != null) {
+            board.remove(old);
+        }
+        board.add(r);
+        members.put(r.getId(), r);
+        while (board.size() > SIZE) {
+            members.remove(board.pollLast().getId());
+        }
+    }
+
+    private void refresh(Long playerId) {
+        if (loaded) {
+            repo.findById(playerId)
+                    .map(PlayerRanking::from)
+                    .subscribe(this::offer, e -> log.warn("Could not refresh player {} on leaderboard", playerId, e));
+        }
+    }
+
+    private synchronized boolean isFull() {
+        return board.size() >= SIZE;
+    }
+
+    private synchronized boolean applyIfMember(Long playerId, UnaryOperator<PlayerRanking> change) {
+        PlayerRanking old = members.get(playerId);
+        if (old == null) {
+            return false;
+        }
+        offer(change.apply(old));
+        return true;
+    }
+
+    private void publish() {
+        List<PlayerRanking> next = List.copyOf(board);
+        if (!next.equals(top)) {
+            top = next;
+            changes.tryEmitNext(next);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package blackjack.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded, least recently used map from player name to player ID, so repeat players
+ * start games without a MySQL round trip. Renames go through {@link #invalidate}.
+ * <p>
+ * Like {@link ActiveGameCache}, it only sees renames made by this instance.
+ */
+@Component
+public class PlayerIdCache {
+
+    private final int maxSize;
+    private final LinkedHashMap<String, Long> ids;
+    // Bumped by every invalidation; a lookup that started before one must not be cached
+    private long invalidations;
+
+    public PlayerIdCache(@Value("${blackjack.player-cache.max-size:100000}") int maxSize) {
+        this.maxSize = maxSize;
+        this.ids = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+                return size() > PlayerIdCache.this.maxSize;
+            }
+        };
+    }
+
+    public synchronized Long get(String name) {
+        return ids.get(name);
+    }
+
+    /** Taken before looking a name up in MySQL and handed back to {@link #put}. */
+    public synchronized long stamp() {
+        return invalidations;
+    }
+
+    public synchronized void put(String name, Long id, long stamp) {
+        if (maxSize > 0 && stamp == invalidations) {
+            ids.put(name, id);
+        }
+    }
+
+    public synchronized void invalidate(String name) {
+        ids.remove(name);
+        invalidations++;
+    }
+
+    synchronized int size() {
+        return ids.size();
+    }
+}
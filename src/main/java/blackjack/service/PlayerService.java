@@ -1,69 +1,225 @@
 package blackjack.service;
 
+import blackjack.domain.mongo.Settlement;
 import blackjack.domain.mysql.Player;
+import blackjack.domain.mysql.PlayerDelta;
 import blackjack.domain.mysql.PlayerRepository;
+import blackjack.domain.mysql.RankingSort;
+import blackjack.domain.mysql.SettlementRecord;
+import blackjack.domain.mysql.SettlementRepository;
 import blackjack.dto.PlayerRanking;
+import blackjack.dto.RankingPage;
 import blackjack.exception.NotFoundException;
 import blackjack.exception.BadRequestException;
+import blackjack.model.Money;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
-import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 
 @Service
 public class PlayerService {
 
+    static final int MAX_PAGE_SIZE = 100;
+
     private final PlayerRepository repo;
+    private final SettlementRepository settlements;
+    private final TransactionalOperator transactions;
+    private final Leaderboard leaderboard;
+    private final PlayerIdCache ids;
+    private final BlackjackMetrics metrics;
 
-    public PlayerService(PlayerRepository repo) {
+    public PlayerService(PlayerRepository repo, SettlementRepository settlements, TransactionalOperator transactions,
+                         Leaderboard leaderboard, PlayerIdCache ids, BlackjackMetrics metrics) {
         this.repo = repo;
+        this.settlements = settlements;
+        this.transactions = transactions;
+        this.leaderboard = leaderboard;
+        this.ids = ids;
+        this.metrics = metrics;
     }
 
-    public Mono<Player> findOrCreate(String name) {
-        return repo.findByName(name)
-                .switchIfEmpty(repo.save(Player.of(name)));
+    /** ID of the player with this name, created on first use. */
+    public Mono<Long> findOrCreateId(String name) {
+        return metrics.player("findOrCreate", Mono.defer(() -> {
+            Long cached = ids.get(name);
+            if (cached != null) {
+                return Mono.just(cached);
+            }
+            long stamp = ids.stamp();
+            return repo.upsertIdByName(name).doOnNext(id -> ids.put(name, id, stamp));
+        }));
     }
 
     public Mono<Player> changeName(Long playerId, String newName) {
-        return repo.findById(playerId)
+        return metrics.player("changeName", repo.findById(playerId)
                 .switchIfEmpty(Mono.error(new NotFoundException("Player " + playerId + " not found")))
                 .flatMap(p -> {
+                    String oldName = p.getName();
                     p.setName(newName);
-                    return repo.save(p);
-                });
+                    return repo.save(p).doOnNext(saved -> ids.invalidate(oldName));
+                }))
+                .doOnNext(leaderboard::onRename);
     }
 
-    public Mono<Player> recordWin(Long playerId, BigDecimal amount) {
-        return repo.findById(playerId)
-                .switchIfEmpty(Mono.error(new NotFoundException("Player " + playerId + " not found")))
-                .flatMap(p -> {
-                    p.recordWin(amount);
-                    return repo.save(p);
-                });
+    /** Completes empty if the player exists, fails with {@link NotFoundException} otherwise. */
+    public Mono<Void> requireExists(Long playerId) {
+        return repo.existsById(playerId)
+                .flatMap(exists -> exists
+                        ? Mono.<Void>empty()
+                        : Mono.error(new NotFoundException("Player " + playerId + " not found")));
     }
 
-    public Mono<Player> recordLoss(Long playerId, BigDecimal amount) {
-        return repo.findById(playerId)
-                .switchIfEmpty(Mono.error(new NotFoundException("Player " + playerId + " not found")))
-                .flatMap(p -> {
-                    if (p.getBalance().compareTo(amount) < 0) {
-                        return Mono.error(new BadRequestException("Insufficient balance for player " + p.getName()));
-                    }
-                    p.recordLoss(amount);
-                    return repo.save(p);
-                });
+    /**
+     * Applies the balance changes of finished games in one MySQL transaction and reports
+     * what became of each, by game id. A game is applied at most once however often it is
+     * submitted: later submissions get the status recorded the first time. The new games
+     * are recorded with one INSERT and each player's games merged into one UPDATE; only a
+     * player whose merged change does not fit is settled game by game, in order, so a loss
+     * the balance cannot cover, or one for an unknown player, is rejected alone. Fails as a
+     * whole if another transaction records one of the games first.
+     */
+    public Mono<Map<String, Settlement.Status>> settle(List<SettlementCommand> commands) {
+        return metrics.player("settle", Mono.defer(() -> {
+            List<SettlementCommand> appliedNow = new ArrayList<>();
+            return transactions.transactional(settleAll(commands, appliedNow))
+                    // Only once committed, so the board never shows a rolled back change
+                    .doOnSuccess(statuses -> appliedNow.forEach(c -> {
+                        if (c.win()) {
+                            leaderboard.onWin(c.playerId(), c.amount());
+                        } else {
+                            leaderboard.onLoss(c.playerId(), c.amount());
+                        }
+                    }));
+        }));
+    }
+
+    private Mono<Map<String, Settlement.Status>> settleAll(List<SettlementCommand> commands,
+                                                            List<SettlementCommand> appliedNow) {
+        List<String> gameIds = commands.stream().map(SettlementCommand::gameId).distinct().toList();
+        return settlements.findStatuses(gameIds).flatMap(recorded -> {
+            Map<String, Settlement.Status> statuses = new LinkedHashMap<>();
+            recorded.forEach((id, status) -> statuses.put(id, Settlement.Status.valueOf(status)));
+            Map<String, SettlementCommand> fresh = new LinkedHashMap<>();
+            commands.forEach(c -> {
+                if (!statuses.containsKey(c.gameId())) {
+                    fresh.putIfAbsent(c.gameId(), c);
+                }
+            });
+            Map<Long, List<SettlementCommand>> byPlayer = new LinkedHashMap<>();
+            fresh.values().forEach(c -> byPlayer.computeIfAbsent(c.playerId(), k -> new ArrayList<>()).add(c));
+            List<PlayerDelta> deltas = byPlayer.entrySet().stream().map(e -> merge(e.getKey(), e.getValue())).toList();
+
+            return settlements.insertAll(fresh.values().stream().map(PlayerService::record).toList())
+                    .then(repo.applyAll(deltas))
+                    .flatMapMany(rows -> {
+                        List<List<SettlementCommand>> oneByOne = new ArrayList<>();
+                        int i = 0;
+                        for (List<SettlementCommand> games : byPlayer.values()) {
+                            if (rows.get(i++) > 0) {
+                                appliedNow.addAll(games);
+                                games.forEach(c -> statuses.put(c.gameId(), Settlement.Status.APPLIED));
+                            } else {
+                                oneByOne.add(games);
+                            }
+                        }
+                        return Flux.fromIterable(oneByOne).concatMapIterable(games -> games);
+                    })
+                    .concatMap(c -> settleOne(c, appliedNow).doOnNext(status -> statuses.put(c.gameId(), status)))
+                    .then(Mono.fromSupplier(() -> {
+                        Map<String, Settlement.Status> result = new LinkedHashMap<>();
+                        gameIds.forEach(id -> result.put(id, statuses.get(id)));
+                        return result;
+                    }));
+        });
+    }
+
+    private static PlayerDelta merge(Long playerId, List<SettlementCommand> games) {
+        int wins = 0;
+        int losses = 0;
+        Money balance = Money.ZERO;
+        for (SettlementCommand c : games) {
+            if (c.win()) {
+                wins++;
+                balance = balance.plus(c.amount());
+            } else {
+                losses++;
+                balance = balance.minus(c.amount());
+            }
+        }
+        return new PlayerDelta(playerId, wins, losses, balance);
+    }
+
+    private static SettlementRecord record(SettlementCommand c) {
+        SettlementRecord r = new SettlementRecord();
+        r.setGameId(c.gameId());
+        r.setPlayerId(c.playerId());
+        r.setWin(c.win());
+        r.setAmount(c.amount());
+        return r;
+    }
+
+    /** One game of a player whose merged change did not fit; its row is already recorded. */
+    private Mono<Settlement.Status> settleOne(SettlementCommand c, List<SettlementCommand> appliedNow) {
+        Mono<Integer> applied = c.win()
+                ? repo.applyWin(c.playerId(), c.amount())
+                : repo.applyLoss(c.playerId(), c.amount());
+        return applied.flatMap(rows -> {
+            if (rows > 0) {
+                appliedNow.add(c);
+                return Mono.just(Settlement.Status.APPLIED);
+            }
+            return settlements.markRejected(c.gameId()).thenReturn(Settlement.Status.REJECTED);
+        });
     }
 
     public Flux<PlayerRanking> ranking() {
-        return repo.findTop20ByOrderByWinsDesc()
-                .map(p -> new PlayerRanking(
-                        p.getId(),
-                        p.getName(),
-                        p.getGamesPlayed(),
-                        p.getWins(),
-                        p.getLosses(),
-                        p.getBalance()
-                ));
+        if (leaderboard.isLoaded()) {
+            return Flux.fromIterable(leaderboard.top());
+        }
+        return repo.findTop20ByOrderByWinsDescIdAsc().map(PlayerRanking::from);
+    }
+
+    /**
+     * One page of the full ranking by {@code sort}, after the position {@code after}
+     * from a previous page, or from the top when it is null.
+     */
+    public Mono<RankingPage> rankingPage(String sort, String after, int size) {
+        return Mono.defer(() -> {
+            RankingSort order = parseSort(sort);
+            if (size < 1 || size > MAX_PAGE_SIZE) {
+                throw new BadRequestException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+            }
+            RankingCursor from = after == null || after.isBlank() ? null : RankingCursor.decode(order, after);
+            // One extra row tells whether another page follows
+            return repo.findRankingPage(order, from == null ? null : from.key(), from == null ? null : from.id(), size + 1)
+                    .collectList()
+                    .map(rows -> {
+                        boolean more = rows.size() > size;
+                        List<Player> page = more ? rows.subList(0, size) : rows;
+                        String next = more ? RankingCursor.after(order, page.get(size - 1)).encode() : null;
+                        return new RankingPage(page.stream().map(PlayerRanking::from).toList(), next);
+                    });
+        });
+    }
+
+    private static RankingSort parseSort(String sort) {
+        try {
+            return RankingSort.valueOf(sort.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Unknown ranking sort '" + sort + "', expected one of "
+                    + Arrays.toString(RankingSort.values()));
+        }
+    }
+
+    public Flux<List<PlayerRanking>> rankingUpdates() {
+        return leaderboard.updates();
     }
 }
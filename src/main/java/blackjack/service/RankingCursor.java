@@ -0,0 +1,37 @@
+package blackjack.service;
+
+import blackjack.domain.mysql.Player;
+import blackjack.domain.mysql.RankingSort;
+import blackjack.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position in a ranking: the sort key and id of the last player returned. Clients see
+ * it as an opaque string and send it back to get the following page.
+ */
+record RankingCursor(RankingSort sort, Object key, Long id) {
+
+    static RankingCursor after(RankingSort sort, Player last) {
+        return new RankingCursor(sort, sort.keyOf(last), last.getId());
+    }
+
+    String encode() {
+        String raw = sort.name() + ":" + key + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static RankingCursor decode(RankingSort sort, String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split(":", 3);
+            if (parts.length == 3 && parts[0].equals(sort.name())) {
+                return new RankingCursor(sort, sort.parseKey(parts[1]), Long.valueOf(parts[2]));
+            }
+        } catch (IllegalArgumentException e) {
+            // Not base64 or not a number; reported below like any other foreign cursor
+        }
+        throw new BadRequestException("Invalid cursor for ranking by " + sort);
+    }
+}
@@ -0,0 +1,12 @@
+package blackjack.service;
+
+import blackjack.domain.mongo.Game;
+import blackjack.model.Money;
+
+/** Balance change for one finished game, as handed from the outbox to {@link PlayerService#settle}. */
+public record SettlementCommand(String gameId, Long playerId, boolean win, Money amount) {
+
+    public static SettlementCommand of(Game g) {
+        return new SettlementCommand(g.getId(), g.getPlayerId(), g.getSettlement().isWin(), g.getSettlement().getAmount());
+    }
+}
@@ -0,0 +1,161 @@
+package blackjack.service;
+
+import blackjack.domain.mongo.Game;
+import blackjack.domain.mongo.Settlement;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.ReactiveBulkOperations;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Applies the settlements that finished games leave in their document (the outbox) to
+ * MySQL, in batches, and then marks them done in Mongo. Polls on an interval and right
+ * after a game finishes on this instance.
+ * <p>
+ * Delivery is at least once: a batch applied in MySQL but not yet marked in Mongo is
+ * sent again, and {@link PlayerService#settle} recognises the games it already applied.
+ * A batch that fails is settled game by game, so one bad game does not hold up the others;
+ * a game that keeps failing is parked as {@link Settlement.Status#FAILED}.
+ */
+@Component
+public class SettlementRelay {
+
+    private static final Logger log = LoggerFactory.getLogger(SettlementRelay.class);
+
+    static final String STATUS = "settlement.status";
+    static final String ATTEMPTS = "settlement.attempts";
+
+    private final ReactiveMongoTemplate mongo;
+    private final PlayerService players;
+    private final Duration pollInterval;
+    private final int batchSize;
+    private final int maxAttempts;
+
+    private final Sinks.Many<Long> wakeUps = Sinks.many().multicast().directBestEffort();
+    private Disposable relay;
+
+    public SettlementRelay(ReactiveMongoTemplate mongo, PlayerService players,
+                           @Value("${blackjack.settlement.poll-interval:200ms}") Duration pollInterval,
+                           @Value("${blackjack.settlement.batch-size:200}") int batchSize,
+                           @Value("${blackjack.settlement.max-attempts:5}") int maxAttempts) {
+        this.mongo = mongo;
+        this.players = players;
+        this.pollInterval = pollInterval;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+    }
+
+    @PostConstruct
+    void start() {
+        relay = Flux.merge(Flux.interval(pollInterval), wakeUps.asFlux())
+                .onBackpressureDrop()
+                .concatMap(tick -> relayAll()
+                        .onErrorResume(e -> {
+                            log.warn("Relaying settlements failed, retrying on next poll", e);
+                            return Mono.empty();
+                        }), 1)
+                .subscribe();
+    }
+
+    @PreDestroy
+    void stop() {
+        if (relay != null) {
+            relay.dispose();
+        }
+    }
+
+    /** Asks for a relay run soon; runs requested while one is in progress are coalesced. */
+    public void wake() {
+        wakeUps.tryEmitNext(0L);
+    }
+
+    /** Relays batches until no settlement is pending; completes with the number marked. */
+    public Mono<Long> relayAll() {
+        return Mono.defer(this::relayBatch)
+                .repeat()
+                .takeUntil(relayed -> relayed < batchSize)
+                .reduce(0L, Long::sum);
+    }
+
+    Mono<Long> relayBatch() {
+        Query query = Query.query(Criteria.where(STATUS).is(Settlement.Status.PENDING))
+                .with(Sort.by("_id"))
+                .limit(batchSize);
+        query.fields().include("playerId").include("settlement");
+        return mongo.find(query, Game.class)
+                .collectList()
+                .flatMap(batch -> batch.isEmpty() ? Mono.just(0L) : relay(batch));
+    }
+
+    private Mono<Long> relay(List<Game> batch) {
+        Map<String, Throwable> failures = new HashMap<>();
+        return players.settle(batch.stream().map(SettlementCommand::of).toList())
+                .onErrorResume(e -> {
+                    if (batch.size() == 1) {
+                        failures.put(batch.get(0).getId(), e);
+                        return Mono.just(Map.of());
+                    }
+                    log.warn("Settling a batch of {} games failed, settling them one by one", batch.size(), e);
+                    return Flux.fromIterable(batch)
+                            .concatMap(g -> players.settle(List.of(SettlementCommand.of(g)))
+                                    .onErrorResume(err -> {
+                                        failures.put(g.getId(), err);
+                                        return Mono.just(Map.of());
+                                    }))
+                            .collect(HashMap::new, Map::putAll);
+                })
+                .flatMap(statuses -> mark(batch, statuses, failures));
+    }
+
+    private Mono<Long> mark(List<Game> batch, Map<String, Settlement.Status> statuses, Map<String, Throwable> failures) {
+        ReactiveBulkOperations bulk = mongo.bulkOps(BulkOperations.BulkMode.UNORDERED, Game.class);
+        int updated = 0;
+        int marked = 0;
+        for (Game g : batch) {
+            Query byId = Query.query(Criteria.where("_id").is(g.getId()));
+            Settlement.Status status = statuses.get(g.getId());
+            Throwable failure = failures.get(g.getId());
+            if (status != null) {
+                if (status == Settlement.Status.REJECTED) {
+                    log.warn("Settlement of game {} rejected for player {}", g.getId(), g.getPlayerId());
+                }
+                bulk.updateOne(byId, new Update().set(STATUS, status));
+                updated++;
+                marked++;
+            } else if (failure != null) {
+                int attempts = g.getSettlement().getAttempts() + 1;
+                Update update = new Update().set(ATTEMPTS, attempts);
+                if (attempts >= maxAttempts) {
+                    log.error("Settlement of game {} failed {} times, giving up", g.getId(), attempts, failure);
+                    update.set(STATUS, Settlement.Status.FAILED);
+                    marked++;
+                } else {
+                    log.warn("Settlement of game {} failed, attempt {} of {}", g.getId(), attempts, maxAttempts, failure);
+                }
+                bulk.updateOne(byId, update);
+                updated++;
+            }
+            // Neither: settled by another instance a moment ago; its status is read on the next poll
+        }
+        // Counting only games taken out of the outbox keeps relayAll from spinning on ones left pending
+        return (updated == 0 ? Mono.empty() : bulk.execute()).thenReturn((long) marked);
+    }
+}
@@ -0,0 +1,110 @@
+package blackjack.service;
+
+import blackjack.dto.SimulationReport;
+import blackjack.dto.SimulationRequest;
+import blackjack.exception.BadRequestException;
+import blackjack.model.Outcome;
+import blackjack.model.RuleSet;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Monte Carlo simulation of many hands with {@link BlackjackEngine}. Hands are
+ * played on a dedicated fork-join pool; waiting for it happens on a small bounded
+ * scheduler, which also caps how many simulations run at once.
+ */
+@Service
+public class SimulationService {
+
+    private final long maxHands;
+    private final Duration progressInterval;
+    private final ForkJoinPool pool;
+    private final Scheduler scheduler;
+
+    public SimulationService(@Value("${blackjack.simulation.max-hands:100000000}") long maxHands,
+                             @Value("${blackjack.simulation.parallelism:0}") int parallelism,
+                             @Value("${blackjack.simulation.max-concurrent:2}") int maxConcurrent,
+                             @Value("${blackjack.simulation.progress-interval:500ms}") Duration progressInterval) {
+        this.maxHands = maxHands;
+        this.progressInterval = progressInterval;
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        this.scheduler = Schedulers.newBoundedElastic(maxConcurrent, 32, "simulation");
+    }
+
+    @PreDestroy
+    void stop() {
+        pool.shutdownNow();
+        scheduler.dispose();
+    }
+
+    /**
+     * Progress reports while the simulation runs, then one final report with the
+     * results. Cancelling the subscription stops the simulation.
+     */
+    public Flux<SimulationReport> run(SimulationRequest req) {
+        long hands = req.getHands();
+        if (hands > maxHands) {
+            return Flux.error(new BadRequestException("At most " + maxHands + " hands per simulation"));
+        }
+        BlackjackEngine engine = new BlackjackEngine(rules(req));
+        Strategy strategy = req.getStrategy() == null ? Strategy.MIMIC_DEALER : req.getStrategy();
+
+        return Flux.defer(() -> {
+            long start = System.nanoTime();
+            AtomicLong played = new AtomicLong();
+            AtomicBoolean cancelled = new AtomicBoolean();
+            SplittableRandom random = req.getSeed() == null ? new SplittableRandom() : new SplittableRandom(req.getSeed());
+
+            Mono<SimulationReport> result = Mono
+                    .fromCallable(() -> pool.invoke(new SimulationTask(engine, strategy, hands, random, played, cancelled)))
+                    .subscribeOn(scheduler)
+                    .map(stats -> report(hands, stats, elapsedMillis(start)))
+                    .cache();
+            Flux<SimulationReport> progress = Flux.interval(progressInterval)
+                    .map(tick -> new SimulationReport(hands, played.get(), false, elapsedMillis(start)))
+                    .takeUntilOther(result);
+
+            return Flux.merge(progress, result)
+                    .doOnCancel(() -> cancelled.set(true));
+        });
+    }
+
+    static RuleSet rules(SimulationRequest req) {
+        RuleSet std = RuleSet.STANDARD;
+        return new RuleSet(
+                req.getDecks() == null ? std.getDecks() : req.getDecks(),
+                req.getDealerHitsSoft17() == null ? std.isDealerHitsSoft17() : req.getDealerHitsSoft17(),
+                req.getBlackjackPayout() == null ? std.getBlackjackPayout() : req.getBlackjackPayout());
+    }
+
+    static SimulationReport report(long hands, SimulationStats stats, long elapsedMillis) {
+        SimulationReport r = new SimulationReport(hands, stats.hands, true, elapsedMillis);
+        double variance = stats.variance();
+        r.setExpectedValue(stats.mean());
+        r.setVariance(variance);
+        r.setStandardError(stats.hands == 0 ? 0 : Math.sqrt(variance / stats.hands));
+        Map<Outcome, Double> outcomes = new EnumMap<>(Outcome.class);
+        for (Outcome o : Outcome.values()) {
+            outcomes.put(o, stats.hands == 0 ? 0 : (double) stats.outcomes[o.ordinal()] / stats.hands);
+        }
+        r.setOutcomes(outcomes);
+        return r;
+    }
+
+    private static long elapsedMillis(long start) {
+        return Duration.ofNanos(System.nanoTime() - start).toMillis();
+    }
+}
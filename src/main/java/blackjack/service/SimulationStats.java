@@ -0,0 +1,41 @@
+package blackjack.service;
+
+import blackjack.model.Outcome;
+
+/** Running totals of simulated hands, in units of the initial bet. */
+class SimulationStats {
+
+    long hands;
+    double sum;
+    double sumOfSquares;
+    final long[] outcomes = new long[Outcome.values().length];
+
+    void record(Outcome outcome, double net) {
+        hands++;
+        sum += net;
+        sumOfSquares += net * net;
+        outcomes[outcome.ordinal()]++;
+    }
+
+    SimulationStats merge(SimulationStats other) {
+        hands += other.hands;
+        sum += other.sum;
+        sumOfSquares += other.sumOfSquares;
+        for (int i = 0; i < outcomes.length; i++) {
+            outcomes[i] += other.outcomes[i];
+        }
+        return this;
+    }
+
+    double mean() {
+        return hands == 0 ? 0 : sum / hands;
+    }
+
+    double variance() {
+        if (hands < 2) {
+            return 0;
+        }
+        double mean = mean();
+        return (sumOfSquares - hands * mean * mean) / (hands - 1);
+    }
+}
@@ -0,0 +1,149 @@
+package blackjack.service;
+
+import blackjack.dto.PlayRequest.Action;
+import blackjack.model.Card;
+import blackjack.model.Deck;
+import blackjack.model.HandState;
+import blackjack.model.Outcome;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Plays {@code hands} hands of blackjack in memory, halving the work until a
+ * slice is small enough for one worker. Each half gets its own generator split
+ * from the parent, so a seed gives the same result on any number of cores.
+ */
+class SimulationTask extends RecursiveTask<SimulationStats> {
+
+    static final int SLICE = 50_000;
+    private static final int PROGRESS_EVERY = 4096;
+
+    private final BlackjackEngine engine;
+    private final Strategy strategy;
+    private final long hands;
+    private final SplittableRandom random;
+    private final AtomicLong played;
+    private final AtomicBoolean cancelled;
+
+    SimulationTask(BlackjackEngine engine, Strategy strategy, long hands, SplittableRandom random,
+                   AtomicLong played, AtomicBoolean cancelled) {
+        this.engine = engine;
+        this.strategy = strategy;
+        this.hands = hands;
+        this.random = random;
+        this.played = played;
+        this.cancelled = cancelled;
+    }
+
+    @Override
+    protected SimulationStats compute() {
+        if (hands <= SLICE) {
+            return playSlice();
+        }
+        long half = hands / 2;
+        SimulationTask left = new SimulationTask(engine, strategy, half, random.split(), played, cancelled);
+        SimulationTask right = new SimulationTask(engine, strategy, hands - half, random, played, cancelled);
+        left.fork();
+        SimulationStats stats = right.compute();
+        return stats.merge(left.join());
+    }
+
+    private SimulationStats playSlice() {
+        SimulationStats stats = new SimulationStats();
+        Shoe shoe = new Shoe(engine.getRules().getDecks(), random);
+        for (long i = 0; i < hands; i++) {
+            if ((i + 1) % PROGRESS_EVERY == 0) {
+                played.addAndGet(PROGRESS_EVERY);
+                if (cancelled.get()) {
+                    return stats;
+                }
+            }
+            playHand(shoe, stats);
+        }
+        played.addAndGet(hands % PROGRESS_EVERY);
+        return stats;
+    }
+
+    private void playHand(Shoe shoe, SimulationStats stats) {
+        shoe.reshuffleIfLow();
+        HandState player = new HandState();
+        HandState dealer = new HandState();
+        player.add(shoe.draw());
+        Card up = shoe.draw();
+        dealer.add(up);
+        player.add(shoe.draw());
+        dealer.add(shoe.draw());
+
+        if (player.isBlackjack() || dealer.isBlackjack()) {
+            if (!dealer.isBlackjack()) {
+                stats.record(Outcome.PLAYER_BLACKJACK, engine.getRules().getBlackjackPayout().doubleValue());
+            } else if (!player.isBlackjack()) {
+                stats.record(Outcome.DEALER_WIN, -1);
+            } else {
+                stats.record(Outcome.PUSH, 0);
+            }
+            return;
+        }
+
+        int bet = 1;
+        boolean first = true;
+        while (!player.isBust()) {
+            Action action = strategy.decide(player, up, first);
+            if (action == Action.STAND) {
+                break;
+            }
+            player.add(shoe.draw());
+            if (action == Action.DOUBLE && first) {
+                bet = 2;
+                break;
+            }
+            first = false;
+        }
+
+        if (!player.isBust()) {
+            while (engine.dealerShouldHit(dealer)) {
+                dealer.add(shoe.draw());
+            }
+        }
+        Outcome outcome = engine.decideOutcome(player, dealer);
+        stats.record(outcome, switch (outcome) {
+            case PLAYER_WIN -> bet;
+            case DEALER_WIN -> -bet;
+            default -> 0;
+        });
+    }
+
+    /** Card source of one worker; reshuffled once three quarters have been dealt. */
+    private static final class Shoe {
+        private final byte[] cards;
+        private final SplittableRandom random;
+        private final int cutCard;
+        private int cursor;
+
+        Shoe(int decks, SplittableRandom random) {
+            this.cards = Deck.orderedOrdinals(decks);
+            this.random = random;
+            this.cutCard = cards.length * 3 / 4;
+            Deck.shuffle(cards, random);
+        }
+
+        void reshuffleIfLow() {
+            if (cursor >= cutCard) {
+                Deck.shuffle(cards, random);
+                cursor = 0;
+            }
+        }
+
+        Card draw() {
+            if (cursor == cards.length) {
+                // Only reachable with one deck and a very long hand
+                Deck.shuffle(cards, random);
+                cursor = 0;
+            }
+            return Card.ofOrdinal(cards[cursor++]);
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package blackjack.service;
+
+import blackjack.domain.mongo.ArchivedGame;
+import blackjack.domain.mongo.Game;
+import blackjack.domain.mongo.PlayerStats;
+import blackjack.dto.PlayerStatistics;
+import blackjack.model.GameStatus;
+import blackjack.model.Outcome;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.ReactiveBulkOperations;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationExpression;
+import org.springframework.data.mongodb.core.aggregation.BooleanOperators;
+import org.springframework.data.mongodb.core.aggregation.ComparisonOperators;
+import org.springframework.data.mongodb.core.aggregation.ConditionalOperators;
+import org.springframework.data.mongodb.core.aggregation.MatchOperation;
+import org.springframework.data.mongodb.core.aggregation.MergeOperation;
+import org.springframework.data.mongodb.core.aggregation.ProjectionOperation;
+import org.springframework.data.mongodb.core.aggregation.UnionWithOperation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Per-player statistics served from {@link PlayerStats} rollups, so a query reads one
+ * document however many games the player has.
+ * <p>
+ * Rollups are incremented as games finish. They can be rebuilt from the live and
+ * archived games with a server-side aggregation; increments made while a rebuild runs
+ * may be lost or counted twice, so rebuild when few games are finishing.
+ */
+@Service
+public class StatisticsService {
+
+    private static final Logger log = LoggerFactory.getLogger(StatisticsService.class);
+
+    private final ReactiveMongoTemplate mongo;
+    private final PlayerService players;
+
+    public StatisticsService(ReactiveMongoTemplate mongo, PlayerService players) {
+        this.mongo = mongo;
+        this.players = players;
+    }
+
+    public Mono<PlayerStatistics> get(Long playerId) {
+        return players.requireExists(playerId)
+                .then(mongo.findById(playerId, PlayerStats.class))
+                .defaultIfEmpty(new PlayerStats(playerId))
+                .map(PlayerStatistics::from);
+    }
+
+    /**
+     * Adds a finished game to its player's rollup. Never fails: the game is already
+     * stored and settled, and a missed increment is repaired by {@link #rebuild}.
+     */
+    public Mono<Void> record(Game g) {
+        return mongo.upsert(Query.query(Criteria.where("_id").is(g.getPlayerId())), increments(g), PlayerStats.class)
+                .then()
+                .onErrorResume(e -> {
+                    log.warn("Could not add game {} to the statistics of player {}", g.getId(), g.getPlayerId(), e);
+                    return Mono.empty();
+                });
+    }
+
+    /** Same as {@link #record(Game)} for many games, in one unordered bulk write. */
+    public Mono<Void> recordAll(List<Game> finished) {
+        if (finished.isEmpty()) {
+            return Mono.empty();
+        }
+        ReactiveBulkOperations bulk = mongo.bulkOps(BulkOperations.BulkMode.UNORDERED, PlayerStats.class);
+        for (Game g : finished) {
+            bulk.upsert(Query.query(Criteria.where("_id").is(g.getPlayerId())), increments(g));
+        }
+        return bulk.execute()
+                .then()
+                .onErrorResume(e -> {
+                    log.warn("Could not add {} games to player statistics", finished.size(), e);
+                    return Mono.empty();
+                });
+    }
+
+    static Update increments(Game g) {
+        Update u = new Update()
+                .inc("games", 1)
+                .inc("totalBetCents", g.getBet().cents());
+        switch (g.getOutcome()) {
+            case PLAYER_BLACKJACK -> u.inc("blackjacks", 1);
+            case PLAYER_WIN -> u.inc("wins", 1);
+            case DEALER_WIN -> u.inc("losses", 1);
+            case PUSH -> u.inc("pushes", 1);
+        }
+        if (g.getPlayerState().isBust()) {
+            u.inc("busts", 1);
+        }
+        if (g.isDoubled()) {
+            u.inc("doubles", 1);
+            if (g.getOutcome() == Outcome.PLAYER_WIN) {
+                u.inc("doubleWins", 1);
+            }
+        }
+        return u;
+    }
+
+    /** Recomputes the rollup of one player, or of every player when {@code playerId} is null. */
+    public Mono<Void> rebuild(Long playerId) {
+        return mongo.aggregate(rebuildPipeline(playerId), mongo.getCollectionName(Game.class), PlayerStats.class)
+                .then();
+    }
+
+    static Aggregation rebuildPipeline(Long playerId) {
+        Criteria finished = Criteria.where("status").is(GameStatus.FINISHED.name());
+        Criteria ofPlayer = playerId == null ? new Criteria() : Criteria.where("playerId").is(playerId);
+        // Both collections are reduced to the same shape before they are combined
+        ProjectionOperation live = Aggregation.project("playerId", "outcome", "doubled", "bet")
+                .and("playerState.total").as("playerTotal");
+        ProjectionOperation archived = Aggregation.project("playerId", "outcome", "doubled", "bet", "playerTotal");
+        MatchOperation matchArchived = Aggregation.match(ofPlayer);
+
+        AggregationExpression doubled = ComparisonOperators.valueOf("doubled").equalToValue(true);
+        return Aggregation.newAggregation(
+                Aggregation.match(playerId == null ? finished : new Criteria().andOperator(finished, ofPlayer)),
+                live,
+                UnionWithOperation.unionWith(ArchivedGame.COLLECTION).pipeline(matchArchived, archived),
+                Aggregation.group("playerId")
+                        .count().as("games")
+                        .sum(count(outcomeIs(Outcome.PLAYER_BLACKJACK))).as("blackjacks")
+                        .sum(count(outcomeIs(Outcome.PLAYER_WIN))).as("wins")
+                        .sum(count(outcomeIs(Outcome.DEALER_WIN))).as("losses")
+                        .sum(count(outcomeIs(Outcome.PUSH))).as("pushes")
+                        .sum(count(ComparisonOperators.valueOf("playerTotal").greaterThanValue(21))).as("busts")
+                        .sum(count(doubled)).as("doubles")
+                        .sum(count(BooleanOperators.And.and(doubled, outcomeIs(Outcome.PLAYER_WIN)))).as("doubleWins")
+                        .sum("bet").as("totalBetCents"),
+                MergeOperation.builder()
+                        .intoCollection(PlayerStats.COLLECTION)
+                        .whenMatched(MergeOperation.WhenDocumentsMatch.replaceDocument())
+                        .whenDocumentsDontMatch(MergeOperation.WhenDocumentsDontMatch.insertNewDocument())
+                        .build());
+    }
+
+    private static AggregationExpression outcomeIs(Outcome outcome) {
+        return ComparisonOperators.valueOf("outcome").equalToValue(outcome.name());
+    }
+
+    private static AggregationExpression count(AggregationExpression condition) {
+        return ConditionalOperators.when(condition).then(1).otherwise(0);
+    }
+}
@@ -0,0 +1,46 @@
+package blackjack.service;
+
+import blackjack.dto.PlayRequest.Action;
+import blackjack.model.Card;
+import blackjack.model.HandState;
+
+/**
+ * Fixed player strategies for simulations. {@code canDouble} is true only on the
+ * first decision of a hand; a strategy asked to double afterwards hits instead.
+ */
+public enum Strategy {
+
+    /** Plays like the dealer: hit below 17, never double. */
+    MIMIC_DEALER {
+        @Override
+        public Action decide(HandState player, Card dealerUp, boolean canDouble) {
+            return player.getTotal() < 17 ? Action.HIT : Action.STAND;
+        }
+    },
+
+    /** Only hits when no card can bust the hand. */
+    NEVER_BUST {
+        @Override
+        public Action decide(HandState player, Card dealerUp, boolean canDouble) {
+            return player.getTotal() < 12 ? Action.HIT : Action.STAND;
+        }
+    },
+
+    /** Doubles 10 and 11 against a weak up card, hits to 17 against 7 or higher. */
+    SIMPLE {
+        @Override
+        public Action decide(HandState player, Card dealerUp, boolean canDouble) {
+            int total = player.getTotal();
+            int up = dealerUp.value();
+            if (canDouble && !player.isSoft() && (total == 10 || total == 11) && up < 10) {
+                return Action.DOUBLE;
+            }
+            if (player.isSoft()) {
+                return total < 18 ? Action.HIT : Action.STAND;
+            }
+            return total < (up >= 7 ? 17 : 12) ? Action.HIT : Action.STAND;
+        }
+    };
+
+    public abstract Action decide(HandState player, Card dealerUp, boolean canDouble);
+}
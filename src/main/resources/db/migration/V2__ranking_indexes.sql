@@ -0,0 +1,10 @@
+-- One index per ranking order (key DESC, id ASC). Each also carries the rest of the
+-- ranking row, so a page is read from the index alone, starting at the cursor.
+CREATE INDEX idx_players_rank_wins
+  ON players (wins DESC, id, games_played, losses, balance, name);
+
+CREATE INDEX idx_players_rank_balance
+  ON players (balance DESC, id, games_played, wins, losses, name);
+
+CREATE INDEX idx_players_rank_games_played
+  ON players (games_played DESC, id, wins, losses, balance, name);
@@ -0,0 +1,10 @@
+-- One row per settled game. The key on game_id makes applying a settlement idempotent:
+-- a game delivered twice by the outbox relay finds its row and is not applied again.
+CREATE TABLE IF NOT EXISTS settlements (
+  game_id VARCHAR(64) PRIMARY KEY,
+  player_id BIGINT NOT NULL,
+  win BOOLEAN NOT NULL,
+  amount DECIMAL(12,2) NOT NULL,
+  status VARCHAR(16) NOT NULL,
+  created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
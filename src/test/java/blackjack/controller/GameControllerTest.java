@@ -67,6 +67,21 @@ class GameControllerTest {
                 .jsonPath("$.status").isEqualTo("FINISHED");
     }
 
+    @Test
+    void hint_shouldReturnRecommendedAction() {
+        Game g = GameMother.startedGame("g1", 1L);
+        Mockito.when(gameService.getInPlay("g1")).thenReturn(Mono.just(g));
+        Mockito.when(gameService.hint(g)).thenReturn(PlayRequest.Action.STAND);
+
+        client.get().uri("/game/g1/hint")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.action").isEqualTo("STAND")
+                .jsonPath("$.playerTotal").isEqualTo(17)
+                .jsonPath("$.dealerUpcard").isEqualTo(7);
+    }
+
     @Test
     void getGameById_shouldReturn200() {
         Game g = GameMother.startedGame("g1", 2L);
@@ -114,6 +129,19 @@ class GameControllerTest {
                 .jsonPath("$.status").isEqualTo(400);
     }
 
+    @Test
+    void betWithFractionsOfACent_shouldReturn400() {
+        client.post().uri("/game/g1/play")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"action\":\"HIT\",\"bet\":1.005}")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.status").isEqualTo(400)
+                .jsonPath("$.message").isEqualTo("Amount 1.005 has fractions of a cent");
+        Mockito.verifyNoInteractions(gameService);
+    }
+
     @Test
     void simulateBust_dealerWins() {
         Game g = GameMother.bustFinished("g2", 1L);
@@ -1,10 +1,15 @@
 package blackjack.controller;
 
 import blackjack.domain.mysql.Player;
+import blackjack.dto.GameHistoryEntry;
 import blackjack.dto.PlayerRanking;
 import blackjack.dto.PlayerRenameRequest;
+import blackjack.dto.RankingPage;
 import blackjack.exception.GlobalExceptionHandler;
+import blackjack.model.Money;
+import blackjack.service.GameService;
 import blackjack.service.PlayerService;
+import blackjack.service.StatisticsService;
 import blackjack.util.PlayerMother;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
@@ -18,7 +23,7 @@ import org.springframework.test.web.reactive.server.WebTestClient;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
-import java.math.BigDecimal;
+import java.util.List;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
 class PlayerControllerTest {
@@ -29,6 +34,12 @@ class PlayerControllerTest {
     @MockBean
     PlayerService playerService;
 
+    @MockBean
+    GameService gameService;
+
+    @MockBean
+    StatisticsService statisticsService;
+
     @Test
     void rename_shouldReturn200() {
         Player renamed = PlayerMother.newPlayer(1L, "Renamed");
@@ -50,8 +61,8 @@ class PlayerControllerTest {
     @Test
     void ranking_shouldReturnList() {
         Mockito.when(playerService.ranking()).thenReturn(Flux.just(
-                new PlayerRanking(1L, "Alice", 10, 6, 4, BigDecimal.valueOf(50)),
-                new PlayerRanking(2L, "Bob", 20, 12, 8, BigDecimal.valueOf(120))
+                new PlayerRanking(1L, "Alice", 10, 6, 4, Money.of(50)),
+                new PlayerRanking(2L, "Bob", 20, 12, 8, Money.of(120))
         ));
 
         client.get().uri("/player/ranking")
@@ -61,4 +72,45 @@ class PlayerControllerTest {
                 .jsonPath("$.length()").isEqualTo(2)
                 .jsonPath("$[0].name").isEqualTo("Alice");
     }
+
+    @Test
+    void rankingStream_shouldSendServerSentEvents() {
+        Mockito.when(playerService.rankingUpdates()).thenReturn(Flux.just(List.of(
+                new PlayerRanking(1L, "Alice", 10, 6, 4, Money.of(50)))));
+
+        client.get().uri("/player/ranking/stream")
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.TEXT_EVENT_STREAM);
+    }
+
+    @Test
+    void rankingPage_shouldReturnPlayersAndCursor() {
+        Mockito.when(playerService.rankingPage("WINS", null, 20)).thenReturn(Mono.just(new RankingPage(
+                List.of(new PlayerRanking(1L, "Alice", 10, 6, 4, Money.of(50))), "V0lOUzo2OjE")));
+
+        client.get().uri("/player/ranking/page")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.players[0].name").isEqualTo("Alice")
+                .jsonPath("$.next").isEqualTo("V0lOUzo2OjE");
+    }
+
+    @Test
+    void games_shouldStreamNdjson() {
+        GameHistoryEntry entry = new GameHistoryEntry();
+        entry.setId("g1");
+        entry.setCursor("c1");
+        Mockito.when(gameService.history(1L, null, 0)).thenReturn(Flux.just(entry));
+
+        client.get().uri("/player/1/games")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectBodyList(GameHistoryEntry.class)
+                .hasSize(1);
+    }
 }
@@ -0,0 +1,193 @@
+package blackjack.domain.mongo;
+
+import blackjack.model.Card;
+import blackjack.model.Money;
+import blackjack.util.GameMother;
+import org.bson.Document;
+import org.bson.types.Binary;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.convert.UpdateMapper;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.query.Update;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GameMappingTest {
+
+    private final MappingMongoConverter converter = newConverter();
+    private final UpdateMapper updates = new UpdateMapper(converter);
+
+    private static MappingMongoConverter newConverter() {
+        MongoCustomConversions conversions = new MongoCustomConversions(List.of());
+        MongoMappingContext context = new MongoMappingContext();
+        context.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+        MappingMongoConverter c = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, context);
+        c.setCustomConversions(conversions);
+        c.afterPropertiesSet();
+        return c;
+    }
+
+    @Test
+    void handsAreWrittenAsOneBytePerCard() {
+        Game g = GameMother.startedGame("g1", 1L);
+
+        Document doc = new Document();
+        converter.write(g, doc);
+
+        assertThat(doc.get("playerHand")).isInstanceOf(Binary.class);
+        byte[] bytes = ((Binary) doc.get("playerHand")).getData();
+        assertThat(bytes).containsExactly(
+                (byte) (Card.Suit.CLUBS.ordinal() * 13 + Card.Rank.EIGHT.ordinal()),
+                (byte) (Card.Suit.DIAMONDS.ordinal() * 13 + Card.Rank.NINE.ordinal()));
+
+        assertThat(((Document) doc.get("playerState")).get("total")).isEqualTo(17);
+
+        Game read = converter.read(Game.class, doc);
+        assertThat(read.getPlayerHand()).isEqualTo(g.getPlayerHand());
+        assertThat(read.getDealerHand()).isEqualTo(g.getDealerHand());
+        assertThat(read.getDealerState().getTotal()).isEqualTo(13);
+    }
+
+    @Test
+    void shoeIsStoredAsCardBytesAndCursor() {
+        Game g = GameMother.startedGame("g1", 1L);
+        g.getShoe().draw();
+
+        Document doc = new Document();
+        converter.write(g, doc);
+
+        Document shoe = (Document) doc.get("shoe");
+        assertThat(shoe.get("cursor")).isEqualTo(1);
+        assertThat(shoe.get("cards")).isInstanceOf(byte[].class);
+
+        Game read = converter.read(Game.class, doc);
+        assertThat(read.getShoe().remaining()).isEqualTo(3);
+        assertThat(read.getShoe().draw()).isEqualTo(Card.of(Card.Suit.HEARTS, Card.Rank.SEVEN));
+    }
+
+    @Test
+    void legacySubdocumentListsStillLoad() {
+        Document doc = new Document("_id", "old")
+                .append("playerId", 7L)
+                .append("playerHand", List.of(
+                        new Document("suit", "SPADES").append("rank", "ACE"),
+                        new Document("suit", "HEARTS").append("rank", "KING")))
+                .append("dealerHand", List.of(
+                        new Document("suit", "CLUBS").append("rank", "TWO")));
+
+        Game read = converter.read(Game.class, doc);
+
+        assertThat(read.getPlayerHand()).containsExactly(
+                Card.of(Card.Suit.SPADES, Card.Rank.ACE),
+                Card.of(Card.Suit.HEARTS, Card.Rank.KING));
+        assertThat(read.getDealerHand()).containsExactly(Card.of(Card.Suit.CLUBS, Card.Rank.TWO));
+    }
+
+    @Test
+    void legacyDeckBecomesShoe() {
+        Document doc = new Document("_id", "old")
+                .append("deck", List.of(
+                        new Document("suit", "CLUBS").append("rank", "FIVE"),
+                        new Document("suit", "HEARTS").append("rank", "SEVEN")));
+
+        Game read = Mono.from(new LegacyGameCallback()
+                .onAfterConvert(converter.read(Game.class, doc), doc, "games")).block();
+
+        assertThat(read.getShoe().remaining()).isEqualTo(2);
+        assertThat(read.getPlayerState().getCards()).isZero();
+        assertThat(read.getShoe().draw()).isEqualTo(Card.of(Card.Suit.CLUBS, Card.Rank.FIVE));
+    }
+
+    @Test
+    void firstDrawOnLegacyDeckStoresTheWholeShoe() {
+        Document doc = new Document("_id", "old")
+                .append("status", "PLAYER_TURN")
+                .append("deck", List.of(
+                        new Document("suit", "CLUBS").append("rank", "FIVE"),
+                        new Document("suit", "HEARTS").append("rank", "SEVEN")));
+
+        Game g = load(doc);
+        g.addPlayerCard(g.getShoe().draw());
+        apply(GameRepositoryImpl.drawUpdate(g), doc);
+
+        assertThat(doc).doesNotContainKey("deck");
+        Game reloaded = load(doc);
+        assertThat(reloaded.isShoeUnsaved()).isFalse();
+        assertThat(reloaded.getShoe().draw()).isEqualTo(Card.of(Card.Suit.HEARTS, Card.Rank.SEVEN));
+
+        // Later draws only move the cursor of the stored shoe
+        reloaded.addPlayerCard(Card.of(Card.Suit.HEARTS, Card.Rank.SEVEN));
+        Document set = (Document) updates.getMappedObject(GameRepositoryImpl.drawUpdate(reloaded).getUpdateObject(),
+                converter.getMappingContext().getPersistentEntity(Game.class)).get("$set");
+        assertThat(set).containsEntry("shoe.cursor", 2).doesNotContainKey("shoe");
+    }
+
+    private Game load(Document doc) {
+        return Mono.from(new LegacyGameCallback()
+                .onAfterConvert(converter.read(Game.class, doc), doc, "games")).block();
+    }
+
+    // Applies a mapped $set / $unset to a stored document the way Mongo would
+    private void apply(Update update, Document doc) {
+        Document mapped = updates.getMappedObject(update.getUpdateObject(),
+                converter.getMappingContext().getPersistentEntity(Game.class));
+        Document set = (Document) mapped.get("$set");
+        set.forEach((key, value) -> {
+            String[] path = key.split("\\.");
+            Document target = doc;
+            for (int i = 0; i < path.length - 1; i++) {
+                target = (Document) target.get(path[i]);
+            }
+            target.put(path[path.length - 1], value);
+        });
+        Document unset = (Document) mapped.get("$unset");
+        if (unset != null) {
+            unset.keySet().forEach(doc::remove);
+        }
+    }
+
+    @Test
+    void archivedGameKeepsHandsAsBytesAndNoShoe() {
+        Game g = GameMother.playerWinsStand("g1", 1L);
+
+        Document doc = new Document();
+        converter.write(ArchivedGame.from(g), doc);
+
+        assertThat(doc.get("playerHand")).isInstanceOf(Binary.class);
+        assertThat(doc).doesNotContainKeys("shoe", "playerState", "version");
+
+        ArchivedGame read = converter.read(ArchivedGame.class, doc);
+        assertThat(read.getPlayerHand()).isEqualTo(g.getPlayerHand());
+        assertThat(read.getOutcome()).isEqualTo(g.getOutcome());
+    }
+
+    @Test
+    void amountsAreStoredAsCents() {
+        Game g = GameMother.blackjackOnCreate("g1", 1L);
+        g.setBet(Money.parse("2.50"));
+        g.setSettlement(new Settlement(true, Money.parse("3.75")));
+
+        Document doc = new Document();
+        converter.write(g, doc);
+
+        assertThat(doc.get("bet")).isEqualTo(250L);
+        assertThat(((Document) doc.get("settlement")).get("amount")).isEqualTo(375L);
+
+        Game read = converter.read(Game.class, doc);
+        assertThat(read.getBet()).isEqualTo(Money.parse("2.50"));
+        assertThat(read.getSettlement().getAmount()).isEqualTo(Money.parse("3.75"));
+    }
+
+    @Test
+    void legacyDecimalStringAmountsStillLoad() {
+        Document doc = new Document("_id", "old").append("bet", "2.5");
+
+        assertThat(converter.read(Game.class, doc).getBet()).isEqualTo(Money.ofCents(250));
+    }
+}
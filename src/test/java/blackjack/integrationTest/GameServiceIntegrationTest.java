@@ -4,6 +4,7 @@ import blackjack.dto.GameResponse;
 import blackjack.dto.NewGameRequest;
 import blackjack.dto.PlayRequest;
 import blackjack.model.GameStatus;
+import blackjack.model.Money;
 import blackjack.model.Outcome;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -176,6 +177,6 @@ class GameServiceIntegrationTest {
 
         assertThat(finished).isNotNull();
         assertThat(finished.getStatus()).isEqualTo(GameStatus.FINISHED);
-        assertThat(finished.getBet().intValue()).isEqualTo(2);
+        assertThat(finished.getBet()).isEqualTo(Money.of(2));
     }
 }
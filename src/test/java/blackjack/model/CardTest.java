@@ -1,12 +1,22 @@
 package blackjack.model;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import static org.assertj.core.api.Assertions.assertThat;
 
 class CardTest {
     @Test
     void valueShouldMatchRank() {
-        assertThat(new Card(Card.Suit.CLUBS, Card.Rank.KING).value()).isEqualTo(10);
-        assertThat(new Card(Card.Suit.HEARTS, Card.Rank.ACE).value()).isEqualTo(11);
+        assertThat(Card.of(Card.Suit.CLUBS, Card.Rank.KING).value()).isEqualTo(10);
+        assertThat(Card.of(Card.Suit.HEARTS, Card.Rank.ACE).value()).isEqualTo(11);
+    }
+
+    @Test
+    void cardsAreCanonical() throws Exception {
+        Card kh = Card.of(Card.Suit.HEARTS, Card.Rank.KING);
+        assertThat(Card.ofOrdinal(kh.ordinal())).isSameAs(kh);
+
+        Card parsed = new ObjectMapper().readValue("{\"suit\":\"HEARTS\",\"rank\":\"KING\"}", Card.class);
+        assertThat(parsed).isSameAs(kh);
     }
 }
@@ -0,0 +1,41 @@
+package blackjack.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HandStateTest {
+
+    @Test
+    void softAcesTurnHardAsCardsArrive() {
+        HandState s = new HandState();
+        s.add(Card.of(Card.Suit.SPADES, Card.Rank.ACE));
+        s.add(Card.of(Card.Suit.HEARTS, Card.Rank.SIX));
+        assertThat(s.getTotal()).isEqualTo(17);
+        assertThat(s.isSoft()).isTrue();
+
+        s.add(Card.of(Card.Suit.CLUBS, Card.Rank.ACE));
+        assertThat(s.getTotal()).isEqualTo(18);
+        assertThat(s.getSoftAces()).isEqualTo(1);
+
+        s.add(Card.of(Card.Suit.CLUBS, Card.Rank.NINE));
+        assertThat(s.getTotal()).isEqualTo(17);
+        assertThat(s.isSoft()).isFalse();
+        assertThat(s.getCards()).isEqualTo(4);
+
+        s.add(Card.of(Card.Suit.DIAMONDS, Card.Rank.KING));
+        assertThat(s.isBust()).isTrue();
+    }
+
+    @Test
+    void twoCardTwentyOneIsBlackjack() {
+        HandState s = new HandState();
+        s.add(Card.of(Card.Suit.CLUBS, Card.Rank.ACE));
+        s.add(Card.of(Card.Suit.DIAMONDS, Card.Rank.KING));
+        assertThat(s.isBlackjack()).isTrue();
+
+        s.add(Card.of(Card.Suit.DIAMONDS, Card.Rank.TWO));
+        assertThat(s.isBlackjack()).isFalse();
+        assertThat(s.getTotal()).isEqualTo(13);
+    }
+}
@@ -0,0 +1,46 @@
+package blackjack.model;
+
+import blackjack.dto.PlayRequest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MoneyTest {
+
+    @Test
+    void blackjackPaysThreeToTwoRoundedDownToTheCent() {
+        assertThat(RuleSet.STANDARD.blackjackWin(Money.of(10))).isEqualTo(Money.of(15));
+        assertThat(RuleSet.STANDARD.blackjackWin(Money.parse("0.05"))).isEqualTo(Money.ofCents(7));
+        assertThat(RuleSet.STANDARD.blackjackWin(Money.parse("2.25"))).isEqualTo(Money.parse("3.37"));
+
+        RuleSet sixToFive = new RuleSet(1, false, new BigDecimal("1.2"));
+        assertThat(sixToFive.blackjackWin(Money.parse("0.99"))).isEqualTo(Money.parse("1.18"));
+    }
+
+    @Test
+    void amountsFinerThanACentAreRejected() {
+        assertThat(Money.parse("12.50")).isEqualTo(Money.ofCents(1250));
+        assertThatThrownBy(() -> Money.parse("0.001")).isInstanceOf(ArithmeticException.class)
+                .hasMessage("Amount 0.001 has fractions of a cent");
+    }
+
+    @Test
+    void averageRoundsHalfUp() {
+        assertThat(Money.of(20).average(8)).isEqualTo(Money.parse("2.50"));
+        assertThat(Money.ofCents(5).average(2)).isEqualTo(Money.ofCents(3));
+        assertThat(Money.ofCents(5).average(0)).isEqualTo(Money.ZERO);
+    }
+
+    @Test
+    void jsonIsADecimalNumber() throws Exception {
+        ObjectMapper json = new ObjectMapper();
+        assertThat(json.writeValueAsString(Money.parse("2.5"))).isEqualTo("2.50");
+
+        PlayRequest req = json.readValue("{\"action\":\"HIT\",\"bet\":12.5}", PlayRequest.class);
+        assertThat(req.getBet()).isEqualTo(Money.ofCents(1250));
+    }
+}
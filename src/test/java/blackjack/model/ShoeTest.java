@@ -0,0 +1,24 @@
+package blackjack.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ShoeTest {
+
+    @Test
+    void dealsEveryCardOnceThenIsExhausted() {
+        Shoe shoe = Shoe.newShuffled();
+        Set<Card> seen = new HashSet<>();
+        while (!shoe.isEmpty()) {
+            seen.add(shoe.draw());
+        }
+        assertThat(seen).hasSize(Card.DECK_SIZE);
+        assertThat(shoe.getCursor()).isEqualTo(Card.DECK_SIZE);
+        assertThatThrownBy(shoe::draw).isInstanceOf(IllegalStateException.class);
+    }
+}
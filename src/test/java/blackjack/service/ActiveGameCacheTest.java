@@ -0,0 +1,127 @@
+package blackjack.service;
+
+import blackjack.domain.mongo.Game;
+import blackjack.domain.mongo.GameRepository;
+import blackjack.model.Card;
+import blackjack.model.GameStatus;
+import blackjack.util.GameMother;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ActiveGameCacheTest {
+
+    @Mock
+    GameRepository games;
+
+    private ActiveGameCache cache(int maxSize) {
+        return new ActiveGameCache(games, true, maxSize, Duration.ofMinutes(1), Duration.ofSeconds(1), 100);
+    }
+
+    @Test
+    void drawsAreServedFromMemoryAndWrittenBackOnFlush() {
+        ActiveGameCache cache = cache(10);
+        Game g = cache.track(GameMother.startedGame("g1", 1L));
+        g.addPlayerCard(Card.of(Card.Suit.CLUBS, Card.Rank.TWO));
+
+        assertThat(cache.saveDraw(g).block()).isSameAs(g);
+        assertThat(cache.findById("g1").block()).isNotSameAs(g)
+                .satisfies(c -> assertThat(c.getPlayerHand()).hasSize(3));
+        verify(games, never()).findById(anyString());
+
+        when(games.saveDraws(any())).thenReturn(Mono.empty());
+        cache.flush().block();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Game>> written = ArgumentCaptor.forClass(List.class);
+        verify(games).saveDraws(written.capture());
+        assertThat(written.getValue()).singleElement()
+                .satisfies(s -> assertThat(s.getPlayerHand()).hasSize(3));
+    }
+
+    @Test
+    void evictedGameWithPendingDrawIsNotReloadedFromMongo() {
+        ActiveGameCache cache = cache(1);
+        Game g1 = cache.track(GameMother.startedGame("g1", 1L));
+        g1.addPlayerCard(Card.of(Card.Suit.CLUBS, Card.Rank.TWO));
+        cache.saveDraw(g1).block();
+
+        cache.track(GameMother.startedGame("g2", 1L));
+
+        Game again = cache.findById("g1").block();
+        assertThat(again.getPlayerHand()).hasSize(3);
+        verify(games, never()).findById(anyString());
+    }
+
+    @Test
+    void finishedGamesAreSavedSynchronously() {
+        ActiveGameCache cache = cache(10);
+        Game g = cache.track(GameMother.startedGame("g1", 1L));
+        cache.saveDraw(g).block();
+        when(games.saveDraws(any())).thenReturn(Mono.empty());
+        when(games.save(g)).thenReturn(Mono.just(g));
+
+        cache.saveFinished(g).block();
+        cache.flush().block();
+
+        // The pending draw is written first so the versioned save finds the cached version
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Game>> written = ArgumentCaptor.forClass(List.class);
+        verify(games).saveDraws(written.capture());
+        assertThat(written.getValue()).singleElement()
+                .satisfies(s -> assertThat(s.getVersion()).isEqualTo(1L));
+        verify(games).save(g);
+    }
+
+    @Test
+    void finishedGameStaysCachedWithItsDrawsWhenTheCatchUpWriteFails() {
+        ActiveGameCache cache = cache(10);
+        Game g = cache.track(GameMother.startedGame("g1", 1L)).copy();
+        g.addPlayerCard(Card.of(Card.Suit.CLUBS, Card.Rank.TWO));
+        cache.saveDraw(g).block();
+        when(games.saveDraws(any())).thenReturn(Mono.error(new IllegalStateException("write failed")), Mono.empty());
+
+        Game finished = cache.findById("g1").block();
+        finished.setStatus(GameStatus.FINISHED);
+        assertThatThrownBy(() -> cache.saveFinished(finished).block()).hasMessageContaining("write failed");
+
+        assertThat(cache.findById("g1").block().getPlayerHand()).hasSize(3);
+        verify(games, never()).findById(anyString());
+        cache.flush().block();
+        verify(games, times(2)).saveDraws(any());
+        verify(games, never()).save(any());
+    }
+
+    @Test
+    void viewsComeFromMemoryOrFromTheSlimReadWithoutBeingCached() {
+        ActiveGameCache cache = cache(10);
+        Game cached = cache.track(GameMother.startedGame("g1", 1L));
+        when(games.findViewById("g2")).thenReturn(Mono.just(GameMother.startedGame("g2", 2L)));
+
+        assertThat(cache.findView("g1").block()).isNotSameAs(cached)
+                .satisfies(v -> assertThat(v.getId()).isEqualTo("g1"));
+        assertThat(cache.findView("g2").block().getId()).isEqualTo("g2");
+        verify(games, never()).findViewById("g1");
+
+        // g2 was read without its shoe, so a play must still load the full game
+        when(games.findById("g2")).thenReturn(Mono.just(GameMother.startedGame("g2", 2L)));
+        cache.findById("g2").block();
+        verify(games).findById("g2");
+    }
+}
@@ -0,0 +1,47 @@
+package blackjack.service;
+
+import blackjack.dto.PlayRequest.Action;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class BasicStrategyTest {
+
+    private final BasicStrategy strategy = new BasicStrategy();
+
+    @Test
+    void matchesPublishedBasicStrategy() {
+        // Hard totals
+        assertThat(strategy.decide(16, false, 10, false)).isEqualTo(Action.HIT);
+        assertThat(strategy.decide(13, false, 2, false)).isEqualTo(Action.STAND);
+        assertThat(strategy.decide(12, false, 2, false)).isEqualTo(Action.HIT);
+        assertThat(strategy.decide(12, false, 4, false)).isEqualTo(Action.STAND);
+        assertThat(strategy.decide(17, false, 11, false)).isEqualTo(Action.STAND);
+        assertThat(strategy.decide(11, false, 10, true)).isEqualTo(Action.DOUBLE);
+        assertThat(strategy.decide(9, false, 2, true)).isEqualTo(Action.HIT);
+        assertThat(strategy.decide(9, false, 5, true)).isEqualTo(Action.DOUBLE);
+        // Soft totals
+        assertThat(strategy.decide(18, true, 9, false)).isEqualTo(Action.HIT);
+        assertThat(strategy.decide(18, true, 7, false)).isEqualTo(Action.STAND);
+        assertThat(strategy.decide(18, true, 4, true)).isEqualTo(Action.DOUBLE);
+        assertThat(strategy.decide(17, true, 2, false)).isEqualTo(Action.HIT);
+    }
+
+    @Test
+    void doublesOnlyOnTheFirstDecision() {
+        assertThat(strategy.decide(11, false, 6, true)).isEqualTo(Action.DOUBLE);
+        assertThat(strategy.decide(11, false, 6, false)).isEqualTo(Action.HIT);
+    }
+
+    @Test
+    void dealerOutcomesAreADistribution() {
+        for (int up = 2; up <= 11; up++) {
+            double sum = 0;
+            for (double p : strategy.dealerOutcomes(up)) sum += p;
+            assertThat(sum).isCloseTo(1.0, within(1e-12));
+        }
+        // Dealer showing a 6 busts about 42% of the time
+        assertThat(strategy.dealerOutcomes(6)[5]).isCloseTo(0.423, within(0.005));
+    }
+}
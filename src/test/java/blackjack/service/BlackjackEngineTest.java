@@ -2,7 +2,9 @@ package blackjack.service;
 
 import blackjack.model.Card;
 import blackjack.model.Outcome;
+import blackjack.model.RuleSet;
 import org.junit.jupiter.api.Test;
+import java.math.BigDecimal;
 import java.util.List;
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -13,9 +15,9 @@ class BlackjackEngineTest {
     @Test
     void shouldAdjustAceValueWhenTotalExceeds21() {
         int total = engine.total(List.of(
-                new Card(Card.Suit.SPADES, Card.Rank.ACE),
-                new Card(Card.Suit.HEARTS, Card.Rank.SIX),
-                new Card(Card.Suit.CLUBS, Card.Rank.FIVE)
+                Card.of(Card.Suit.SPADES, Card.Rank.ACE),
+                Card.of(Card.Suit.HEARTS, Card.Rank.SIX),
+                Card.of(Card.Suit.CLUBS, Card.Rank.FIVE)
         ));
         assertThat(total).isEqualTo(12);
     }
@@ -23,9 +25,9 @@ class BlackjackEngineTest {
     @Test
     void shouldHandleMultipleAcesCorrectly() {
         int total = engine.total(List.of(
-                new Card(Card.Suit.SPADES, Card.Rank.ACE),
-                new Card(Card.Suit.HEARTS, Card.Rank.ACE),
-                new Card(Card.Suit.CLUBS, Card.Rank.NINE)
+                Card.of(Card.Suit.SPADES, Card.Rank.ACE),
+                Card.of(Card.Suit.HEARTS, Card.Rank.ACE),
+                Card.of(Card.Suit.CLUBS, Card.Rank.NINE)
         ));
         assertThat(total).isEqualTo(21);
     }
@@ -33,14 +35,14 @@ class BlackjackEngineTest {
     @Test
     void shouldDealerHitWhenTotalIsUnder17() {
         boolean hit = engine.dealerShouldHit(List.of(
-                new Card(Card.Suit.SPADES, Card.Rank.SIX),
-                new Card(Card.Suit.HEARTS, Card.Rank.NINE)
+                Card.of(Card.Suit.SPADES, Card.Rank.SIX),
+                Card.of(Card.Suit.HEARTS, Card.Rank.NINE)
         ));
         assertThat(hit).isTrue();
 
         boolean stand = engine.dealerShouldHit(List.of(
-                new Card(Card.Suit.SPADES, Card.Rank.TEN),
-                new Card(Card.Suit.HEARTS, Card.Rank.SEVEN)
+                Card.of(Card.Suit.SPADES, Card.Rank.TEN),
+                Card.of(Card.Suit.HEARTS, Card.Rank.SEVEN)
         ));
         assertThat(stand).isFalse();
     }
@@ -49,11 +51,11 @@ class BlackjackEngineTest {
     void shouldDecideOutcome_PlayerBust_DealerWins() {
         Outcome outcome = engine.decideOutcome(
                 List.of(
-                        new Card(Card.Suit.SPADES, Card.Rank.KING),
-                        new Card(Card.Suit.HEARTS, Card.Rank.QUEEN),
-                        new Card(Card.Suit.CLUBS, Card.Rank.TWO)
+                        Card.of(Card.Suit.SPADES, Card.Rank.KING),
+                        Card.of(Card.Suit.HEARTS, Card.Rank.QUEEN),
+                        Card.of(Card.Suit.CLUBS, Card.Rank.TWO)
                 ),
-                List.of(new Card(Card.Suit.DIAMONDS, Card.Rank.SEVEN))
+                List.of(Card.of(Card.Suit.DIAMONDS, Card.Rank.SEVEN))
         );
         assertThat(outcome).isEqualTo(Outcome.DEALER_WIN);
     }
@@ -62,13 +64,13 @@ class BlackjackEngineTest {
     void shouldDecideOutcome_DealerBust_PlayerWins() {
         Outcome outcome = engine.decideOutcome(
                 List.of(
-                        new Card(Card.Suit.SPADES, Card.Rank.TEN),
-                        new Card(Card.Suit.HEARTS, Card.Rank.SEVEN)
+                        Card.of(Card.Suit.SPADES, Card.Rank.TEN),
+                        Card.of(Card.Suit.HEARTS, Card.Rank.SEVEN)
                 ),
                 List.of(
-                        new Card(Card.Suit.DIAMONDS, Card.Rank.KING),
-                        new Card(Card.Suit.CLUBS, Card.Rank.QUEEN),
-                        new Card(Card.Suit.HEARTS, Card.Rank.TWO)
+                        Card.of(Card.Suit.DIAMONDS, Card.Rank.KING),
+                        Card.of(Card.Suit.CLUBS, Card.Rank.QUEEN),
+                        Card.of(Card.Suit.HEARTS, Card.Rank.TWO)
                 )
         );
         assertThat(outcome).isEqualTo(Outcome.PLAYER_WIN);
@@ -77,8 +79,8 @@ class BlackjackEngineTest {
     @Test
     void shouldDecideOutcome_PlayerHasHigherTotal() {
         Outcome outcome = engine.decideOutcome(
-                List.of(new Card(Card.Suit.SPADES, Card.Rank.TEN)),
-                List.of(new Card(Card.Suit.HEARTS, Card.Rank.NINE))
+                List.of(Card.of(Card.Suit.SPADES, Card.Rank.TEN)),
+                List.of(Card.of(Card.Suit.HEARTS, Card.Rank.NINE))
         );
         assertThat(outcome).isEqualTo(Outcome.PLAYER_WIN);
     }
@@ -86,8 +88,8 @@ class BlackjackEngineTest {
     @Test
     void shouldDecideOutcome_DealerHasHigherTotal() {
         Outcome outcome = engine.decideOutcome(
-                List.of(new Card(Card.Suit.SPADES, Card.Rank.NINE)),
-                List.of(new Card(Card.Suit.HEARTS, Card.Rank.TEN))
+                List.of(Card.of(Card.Suit.SPADES, Card.Rank.NINE)),
+                List.of(Card.of(Card.Suit.HEARTS, Card.Rank.TEN))
         );
         assertThat(outcome).isEqualTo(Outcome.DEALER_WIN);
     }
@@ -95,9 +97,19 @@ class BlackjackEngineTest {
     @Test
     void shouldDecideOutcome_PushWhenEqualTotals() {
         Outcome outcome = engine.decideOutcome(
-                List.of(new Card(Card.Suit.SPADES, Card.Rank.TEN)),
-                List.of(new Card(Card.Suit.HEARTS, Card.Rank.TEN))
+                List.of(Card.of(Card.Suit.SPADES, Card.Rank.TEN)),
+                List.of(Card.of(Card.Suit.HEARTS, Card.Rank.TEN))
         );
         assertThat(outcome).isEqualTo(Outcome.PUSH);
     }
+
+    @Test
+    void dealerHitsSoft17OnlyWhenTheRulesSaySo() {
+        List<Card> soft17 = List.of(
+                Card.of(Card.Suit.SPADES, Card.Rank.ACE),
+                Card.of(Card.Suit.HEARTS, Card.Rank.SIX)
+        );
+        assertThat(engine.dealerShouldHit(soft17)).isFalse();
+        assertThat(new BlackjackEngine(new RuleSet(6, true, new BigDecimal("1.5"))).dealerShouldHit(soft17)).isTrue();
+    }
 }
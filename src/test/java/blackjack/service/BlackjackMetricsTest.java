@@ -0,0 +1,38 @@
+package blackjack.service;
+
+import blackjack.model.Outcome;
+import blackjack.util.GameMother;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+class BlackjackMetricsTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final BlackjackMetrics metrics = new BlackjackMetrics(registry);
+
+    @Test
+    void commandIsTaggedWithTheOutcomeOfTheGame() {
+        metrics.command("STAND", Mono.just(GameMother.playerWinsStand("g1", 1L))).block();
+        metrics.command("HIT", Mono.just(GameMother.startedGame("g2", 1L))).block();
+
+        assertThat(registry.get(BlackjackMetrics.COMMAND)
+                .tags("action", "STAND", "outcome", Outcome.PLAYER_WIN.name()).timer().count()).isEqualTo(1);
+        assertThat(registry.get(BlackjackMetrics.COMMAND)
+                .tags("action", "HIT", "outcome", "IN_PLAY").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void failedStageIsCountedAsError() {
+        catchThrowable(() -> metrics.stage("save", "STAND", Mono.error(new IllegalStateException())).block());
+        metrics.stage("save", "STAND", Mono.empty()).block();
+
+        assertThat(registry.get(BlackjackMetrics.STAGE).tags("stage", "save", "result", "error").timer().count())
+                .isEqualTo(1);
+        assertThat(registry.get(BlackjackMetrics.STAGE).tags("stage", "save", "result", "ok").timer().count())
+                .isEqualTo(1);
+    }
+}
@@ -0,0 +1,58 @@
+package blackjack.service;
+
+import blackjack.model.Card;
+import blackjack.model.HandState;
+import blackjack.model.Shoe;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class DealerOddsCalculatorTest {
+
+    private final DealerOddsCalculator calculator = new DealerOddsCalculator(1000);
+
+    private static HandState hand(Card.Rank... ranks) {
+        HandState s = new HandState();
+        for (Card.Rank r : ranks) {
+            s.add(Card.of(Card.Suit.CLUBS, r));
+        }
+        return s;
+    }
+
+    @Test
+    void drawsOnlyFromCardsLeftInTheShoe() {
+        Shoe shoe = Shoe.of(List.of(
+                Card.of(Card.Suit.HEARTS, Card.Rank.KING),
+                Card.of(Card.Suit.HEARTS, Card.Rank.FIVE)));
+
+        double[] p = calculator.dealerOutcomes(hand(Card.Rank.SEVEN, Card.Rank.FIVE), shoe);
+
+        // 12 + K busts, 12 + 5 stands on 17
+        assertThat(p[0]).isCloseTo(0.5, within(1e-12));
+        assertThat(p[DealerOddsCalculator.BUST]).isCloseTo(0.5, within(1e-12));
+    }
+
+    @Test
+    void fullShoeGivesADistribution() {
+        Shoe shoe = Shoe.newShuffled();
+        shoe.setCursor(4);
+        double[] p = calculator.dealerOutcomes(hand(Card.Rank.SIX, Card.Rank.TEN), shoe);
+
+        assertThat(Arrays.stream(p).sum()).isCloseTo(1.0, within(1e-9));
+        assertThat(p[DealerOddsCalculator.BUST]).isBetween(0.5, 0.7);
+        // Served from the memo the second time, and callers get their own copy
+        p[0] = 42;
+        assertThat(calculator.dealerOutcomes(hand(Card.Rank.SIX, Card.Rank.TEN), shoe)[0]).isLessThan(1);
+    }
+
+    @Test
+    void dealerAlreadyStandingNeedsNoCards() {
+        double[] p = calculator.dealerOutcomes(hand(Card.Rank.KING, Card.Rank.NINE), Shoe.of(List.of()));
+
+        assertThat(p[2]).isEqualTo(1.0);
+    }
+}
@@ -0,0 +1,59 @@
+package blackjack.service;
+
+import blackjack.domain.mongo.ArchivedGame;
+import blackjack.domain.mongo.Game;
+import blackjack.util.GameMother;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.client.result.DeleteResult;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.ReactiveBulkOperations;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class GameArchiverTest {
+
+    @Mock
+    ReactiveMongoTemplate mongo;
+
+    @Mock
+    ReactiveBulkOperations bulk;
+
+    @Test
+    void archivesBeforeRemovingAndStopsOnAPartialBatch() {
+        GameArchiver archiver = new GameArchiver(mongo, true, Duration.ofMinutes(1), Duration.ofHours(1), 2);
+        when(mongo.find(any(Query.class), eq(Game.class))).thenReturn(
+                Flux.just(GameMother.bustFinished("g1", 1L), GameMother.playerWinsStand("g2", 1L)),
+                Flux.just(GameMother.blackjackOnCreate("g3", 2L)));
+        when(mongo.bulkOps(BulkOperations.BulkMode.UNORDERED, ArchivedGame.class)).thenReturn(bulk);
+        when(bulk.execute()).thenReturn(Mono.just(BulkWriteResult.unacknowledged()));
+        when(mongo.remove(any(Query.class), eq(Game.class))).thenReturn(Mono.just(DeleteResult.acknowledged(1)));
+
+        assertThat(archiver.archiveAll().block()).isEqualTo(3L);
+
+        ArgumentCaptor<Object> archived = ArgumentCaptor.forClass(Object.class);
+        verify(bulk, times(3)).replaceOne(any(Query.class), archived.capture(), any());
+        assertThat(archived.getAllValues()).extracting("id").containsExactly("g1", "g2", "g3");
+        InOrder order = inOrder(bulk, mongo);
+        order.verify(bulk).execute();
+        order.verify(mongo).remove(any(Query.class), eq(Game.class));
+    }
+}
@@ -0,0 +1,49 @@
+package blackjack.service;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GameMailboxTest {
+
+    @Test
+    void commandsForTheSameGameRunOneAtATime() {
+        GameMailbox mailbox = new GameMailbox();
+        List<String> log = new ArrayList<>();
+        Sinks.Empty<Void> firstDone = Sinks.empty();
+
+        mailbox.submit("g1", () -> {
+            log.add("first start");
+            return firstDone.asMono().doOnSuccess(v -> log.add("first end"));
+        }).subscribe();
+        mailbox.submit("g1", () -> {
+            log.add("second");
+            return Mono.empty();
+        }).subscribe();
+        mailbox.submit("g2", () -> {
+            log.add("other game");
+            return Mono.empty();
+        }).subscribe();
+
+        assertThat(log).containsExactly("first start", "other game");
+
+        firstDone.tryEmitEmpty();
+
+        assertThat(log).containsExactly("first start", "other game", "first end", "second");
+        assertThat(mailbox.queued()).isZero();
+    }
+
+    @Test
+    void failedCommandDoesNotBlockTheNextOne() {
+        GameMailbox mailbox = new GameMailbox();
+
+        mailbox.submit("g1", () -> Mono.error(new IllegalStateException("boom"))).onErrorResume(e -> Mono.empty()).block();
+
+        assertThat(mailbox.submit("g1", () -> Mono.just("ok")).block()).isEqualTo("ok");
+    }
+}
@@ -0,0 +1,243 @@
+package blackjack.service;
+
+import blackjack.domain.mongo.ArchivedGame;
+import blackjack.domain.mongo.Game;
+import blackjack.domain.mongo.GameRepository;
+import blackjack.dto.BatchPlayRequest;
+import blackjack.dto.GameHistoryEntry;
+import blackjack.dto.PlayRequest;
+import blackjack.exception.BadRequestException;
+import blackjack.exception.NotFoundException;
+import blackjack.model.Card;
+import blackjack.model.GameStatus;
+import blackjack.model.Money;
+import blackjack.model.Shoe;
+import blackjack.util.GameMother;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class GameServiceTest {
+
+    @Mock
+    GameRepository games;
+
+    @Mock
+    PlayerService players;
+
+    @Mock
+    ActiveGameCache cache;
+
+    @Mock
+    StatisticsService stats;
+
+    @Mock
+    SettlementRelay relay;
+
+    GameService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new GameService(games, players, cache, new GameMailbox(), new BasicStrategy(),
+                new DealerOddsCalculator(1000), stats, relay, new BlackjackMetrics(new SimpleMeterRegistry()), 4, 10);
+    }
+
+    // Player 8 + 9, dealer 7 + 6: nobody has blackjack, so every game is bulk inserted
+    private static Shoe noBlackjackShoe() {
+        return Shoe.of(List.of(
+                Card.of(Card.Suit.CLUBS, Card.Rank.EIGHT),
+                Card.of(Card.Suit.SPADES, Card.Rank.SEVEN),
+                Card.of(Card.Suit.DIAMONDS, Card.Rank.NINE),
+                Card.of(Card.Suit.HEARTS, Card.Rank.SIX),
+                Card.of(Card.Suit.CLUBS, Card.Rank.FIVE)));
+    }
+
+    @Test
+    void createNewGames_looksUpEachNameOnceAndFailsItemsOnTheirOwn() {
+        service.newShoe = GameServiceTest::noBlackjackShoe;
+        when(players.findOrCreateId("Alice")).thenReturn(Mono.just(1L));
+        when(games.insertAll(anyList())).thenReturn(Mono.just(Map.of()));
+        when(cache.track(any())).thenAnswer(inv -> inv.getArgument(0));
+        when(stats.recordAll(anyList())).thenReturn(Mono.empty());
+
+        List<BatchItem<Game>> items = service.createNewGames(List.of("Alice", "Alice", " ")).collectList().block();
+
+        items = items.stream().sorted(Comparator.comparingInt(BatchItem::index)).toList();
+        assertThat(items).hasSize(3);
+        assertThat(items.get(0).value().getPlayerId()).isEqualTo(1L);
+        assertThat(items.get(1).value().getPlayerId()).isEqualTo(1L);
+        assertThat(items.get(2).error()).isInstanceOf(BadRequestException.class);
+        verify(players, times(1)).findOrCreateId("Alice");
+    }
+
+    @Test
+    void createNewGames_failsOnlyTheGamesTheInsertRejected() {
+        service.newShoe = GameServiceTest::noBlackjackShoe;
+        when(players.findOrCreateId("Alice")).thenReturn(Mono.just(1L));
+        when(players.findOrCreateId("Bob")).thenReturn(Mono.just(2L));
+        when(games.insertAll(anyList()))
+                .thenReturn(Mono.just(Map.of(1, new DuplicateKeyException("E11000 duplicate key"))));
+        when(cache.track(any())).thenAnswer(inv -> inv.getArgument(0));
+        when(stats.recordAll(anyList())).thenReturn(Mono.empty());
+
+        List<BatchItem<Game>> items = service.createNewGames(List.of("Alice", "Bob")).collectList().block();
+
+        items = items.stream().sorted(Comparator.comparingInt(BatchItem::index)).toList();
+        assertThat(items.get(0).value().getPlayerId()).isEqualTo(1L);
+        assertThat(items.get(1).error()).isInstanceOf(DuplicateKeyException.class);
+        verify(cache, times(1)).track(any());
+    }
+
+    private GameService withCache(ActiveGameCache cache) {
+        return new GameService(games, players, cache, new GameMailbox(), new BasicStrategy(),
+                new DealerOddsCalculator(1000), stats, relay, new BlackjackMetrics(new SimpleMeterRegistry()), 4, 10);
+    }
+
+    // Player 8 + 9 against dealer 7 + 6, with a single two left in the shoe
+    private static Game lastCardGame(ActiveGameCache cache) {
+        Game g = GameMother.startedGame("g1", 1L);
+        g.setShoe(Shoe.of(List.of(Card.of(Card.Suit.CLUBS, Card.Rank.TWO))));
+        return cache.track(g);
+    }
+
+    @Test
+    void play_leavesTheGameAReaderHoldsAsItWas() {
+        ActiveGameCache realCache = new ActiveGameCache(games, true, 10, Duration.ofMinutes(1), Duration.ofSeconds(1), 10);
+        GameService service = withCache(realCache);
+        lastCardGame(realCache);
+        PlayRequest hit = new PlayRequest();
+        hit.setAction(PlayRequest.Action.HIT);
+
+        Game shown = service.getView("g1").block();
+        Game played = service.play("g1", hit).block();
+
+        assertThat(played.getPlayerHand()).hasSize(3);
+        assertThat(shown.getPlayerHand()).hasSize(2);
+        assertThat(shown.getShoe().remaining()).isEqualTo(1);
+        assertThat(shown.getBet()).isEqualTo(Money.ZERO);
+        assertThat(service.getView("g1").block().getPlayerHand()).hasSize(3);
+    }
+
+    @Test
+    void play_failingHalfwayLeavesTheCachedGameUntouched() {
+        ActiveGameCache realCache = new ActiveGameCache(games, true, 10, Duration.ofMinutes(1), Duration.ofSeconds(1), 10);
+        GameService service = withCache(realCache);
+        lastCardGame(realCache);
+        PlayRequest stand = new PlayRequest();
+        stand.setAction(PlayRequest.Action.STAND);
+
+        // The dealer draws the two, still has to hit on 15 and finds the shoe empty
+        assertThatThrownBy(() -> service.play("g1", stand).block()).hasMessage("Deck exhausted");
+
+        Game g = service.get("g1").block();
+        assertThat(g.getDealerHand()).hasSize(2);
+        assertThat(g.getShoe().remaining()).isEqualTo(1);
+        assertThat(g.getBet()).isEqualTo(Money.ZERO);
+        assertThat(g.getStatus()).isEqualTo(GameStatus.PLAYER_TURN);
+        verify(games, never()).save(any());
+    }
+
+    @Test
+    void playAll_reportsEachFailure() {
+        when(cache.findById("missing")).thenReturn(Mono.empty());
+        BatchPlayRequest noAction = new BatchPlayRequest();
+        noAction.setGameId("g1");
+        BatchPlayRequest missing = new BatchPlayRequest();
+        missing.setGameId("missing");
+        missing.setAction(PlayRequest.Action.HIT);
+        BatchPlayRequest blankId = new BatchPlayRequest();
+        blankId.setGameId(" ");
+        blankId.setAction(PlayRequest.Action.HIT);
+
+        List<BatchItem<Game>> items = service.playAll(List.of(noAction, missing, blankId)).collectList().block();
+
+        assertThat(items).extracting(BatchItem::index).containsExactlyInAnyOrder(0, 1, 2);
+        assertThat(items).filteredOn(i -> i.index() == 2)
+                .allSatisfy(i -> assertThat(i.error()).isInstanceOf(BadRequestException.class));
+        assertThat(items).allSatisfy(i -> assertThat(i.error()).isNotNull());
+        assertThat(items).anySatisfy(i -> assertThat(i.error()).isInstanceOf(NotFoundException.class));
+    }
+
+    @Test
+    void batchesOverTheLimitAreRejected() {
+        List<String> names = Collections.nCopies(11, "Bob");
+
+        assertThat(service.createNewGames(names).onErrorResume(e -> Flux.just(BatchItem.failed(-1, e)))
+                .blockFirst().error()).isInstanceOf(BadRequestException.class);
+    }
+
+    @Test
+    void history_mergesLiveAndArchivedGamesNewestFirst() {
+        Instant t = Instant.parse("2026-01-01T00:00:00Z");
+        Game live = GameMother.startedGame("b", 1L);
+        live.setCreatedAt(t.plusSeconds(20));
+        Game archivedMeanwhile = GameMother.bustFinished("a", 1L);
+        archivedMeanwhile.setCreatedAt(t.plusSeconds(10));
+        ArchivedGame older = ArchivedGame.from(GameMother.playerWinsStand("c", 1L));
+        older.setCreatedAt(t);
+        ArchivedGame sameAsLive = ArchivedGame.from(archivedMeanwhile);
+        when(players.requireExists(1L)).thenReturn(Mono.empty());
+        when(games.findHistory(1L, null, null, 0)).thenReturn(Flux.just(live, archivedMeanwhile));
+        when(games.findArchivedHistory(1L, null, null, 0)).thenReturn(Flux.just(sameAsLive, older));
+
+        List<GameHistoryEntry> entries = service.history(1L, null, 0).collectList().block();
+
+        assertThat(entries).extracting(GameHistoryEntry::getId).containsExactly("b", "a", "c");
+        assertThat(entries.get(2).getPlayerTotal()).isEqualTo(19);
+
+        when(games.findHistory(1L, t.plusSeconds(10), "a", 0)).thenReturn(Flux.empty());
+        when(games.findArchivedHistory(1L, t.plusSeconds(10), "a", 0)).thenReturn(Flux.just(older));
+        assertThat(service.history(1L, entries.get(1).getCursor(), 0).collectList().block())
+                .extracting(GameHistoryEntry::getId).containsExactly("c");
+    }
+
+    @Test
+    void history_datesArchivedGamesWithoutCreationTimeByTheirId() {
+        ObjectId id = new ObjectId(Date.from(Instant.parse("2025-06-01T10:00:00Z")));
+        ArchivedGame undated = ArchivedGame.from(GameMother.playerWinsStand(id.toHexString(), 1L));
+        undated.setCreatedAt(null);
+        when(players.requireExists(1L)).thenReturn(Mono.empty());
+        when(games.findHistory(1L, null, null, 0)).thenReturn(Flux.empty());
+        when(games.findArchivedHistory(1L, null, null, 0)).thenReturn(Flux.just(undated));
+
+        List<GameHistoryEntry> entries = service.history(1L, null, 0).collectList().block();
+
+        assertThat(entries).singleElement().satisfies(e -> {
+            assertThat(e.getCreatedAt()).isEqualTo(Instant.parse("2025-06-01T10:00:00Z"));
+            assertThat(e.getCursor()).isNotBlank();
+        });
+    }
+
+    @Test
+    void history_rejectsForeignCursor() {
+        assertThatThrownBy(() -> service.history(1L, "%%%", 0).blockFirst())
+                .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> service.history(1L, "bm9wZQ", 0).blockFirst())
+                .isInstanceOf(BadRequestException.class);
+    }
+}
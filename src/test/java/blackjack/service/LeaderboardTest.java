@@ -0,0 +1,122 @@
+package blackjack.service;
+
+import blackjack.domain.mysql.Player;
+import blackjack.domain.mysql.PlayerRepository;
+import blackjack.dto.PlayerRanking;
+import blackjack.model.Money;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class LeaderboardTest {
+
+    @Mock
+    PlayerRepository repo;
+
+    private static PlayerRanking ranking(long id, int wins) {
+        return new PlayerRanking(id, "p" + id, wins, wins, 0, Money.of(10));
+    }
+
+    private Leaderboard fullBoard() {
+        Leaderboard board = new Leaderboard(repo, Duration.ofSeconds(5));
+        List<PlayerRanking> rankings = new ArrayList<>();
+        for (long id = 1; id <= Leaderboard.SIZE; id++) {
+            rankings.add(ranking(id, 100 - (int) id));
+        }
+        board.replaceAll(rankings);
+        return board;
+    }
+
+    @Test
+    void winMovesMemberUpWithoutDatabaseAccess() {
+        Leaderboard board = fullBoard();
+
+        board.onWin(2L, Money.ONE);
+        board.onWin(2L, Money.ONE);
+
+        PlayerRanking first = board.top().get(0);
+        assertThat(first.getId()).isEqualTo(2L);
+        assertThat(first.getWins()).isEqualTo(100);
+        assertThat(first.getBalance()).isEqualTo(Money.of(12));
+    }
+
+    @Test
+    void outsiderWinReplacesLastPlace() {
+        Leaderboard board = fullBoard();
+        when(repo.findById(99L)).thenReturn(Mono.just(
+                new Player(99L, "new", 95, 95, 0, Money.of(10), Instant.now())));
+
+        board.onWin(99L, Money.ONE);
+
+        assertThat(board.top()).hasSize(Leaderboard.SIZE);
+        assertThat(board.top()).extracting(PlayerRanking::getId).contains(99L).doesNotContain(20L);
+    }
+
+    @Test
+    void lossOfOutsiderOnFullBoardIsIgnored() {
+        Leaderboard board = fullBoard();
+        List<PlayerRanking> before = board.top();
+
+        board.onLoss(99L, Money.ONE);
+
+        assertThat(board.top()).isSameAs(before);
+    }
+
+    @Test
+    void updatesEmitOnlyWhenTheTopListChanges() {
+        Leaderboard board = fullBoard();
+
+        StepVerifier.create(board.updates().map(top -> top.get(0).getWins()))
+                .expectNext(99)
+                .then(() -> {
+                    board.onLoss(99L, Money.ONE);
+                    board.onWin(1L, Money.ONE);
+                })
+                .expectNext(100)
+                .thenCancel()
+                .verify();
+    }
+
+    @Test
+    void loadEmitsTheFullBoardOnce() {
+        Leaderboard board = new Leaderboard(repo, Duration.ofSeconds(5));
+        List<List<PlayerRanking>> seen = new ArrayList<>();
+        board.updates().subscribe(seen::add);
+
+        List<PlayerRanking> rankings = new ArrayList<>();
+        for (long id = 1; id <= Leaderboard.SIZE; id++) {
+            rankings.add(ranking(id, 100 - (int) id));
+        }
+        board.replaceAll(rankings);
+        board.replaceAll(rankings);
+
+        assertThat(seen).hasSize(1);
+        assertThat(seen.get(0)).hasSize(Leaderboard.SIZE);
+    }
+
+    @Test
+    void reloadPicksUpGamesSettledByOtherInstances() {
+        Leaderboard board = fullBoard();
+        // Player 20 won elsewhere and is now first
+        when(repo.findTop20ByOrderByWinsDescIdAsc()).thenReturn(Flux.just(
+                new Player(20L, "p20", 150, 150, 0, Money.of(10), Instant.now()),
+                new Player(1L, "p1", 99, 99, 0, Money.of(10), Instant.now())));
+
+        board.reload().block();
+
+        assertThat(board.top()).extracting(PlayerRanking::getId).containsExactly(20L, 1L);
+    }
+}
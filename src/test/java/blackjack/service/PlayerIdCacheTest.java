@@ -0,0 +1,31 @@
+package blackjack.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PlayerIdCacheTest {
+
+    @Test
+    void evictsLeastRecentlyUsedName() {
+        PlayerIdCache cache = new PlayerIdCache(2);
+        cache.put("a", 1L, cache.stamp());
+        cache.put("b", 2L, cache.stamp());
+        cache.get("a");
+        cache.put("c", 3L, cache.stamp());
+
+        assertThat(cache.get("a")).isEqualTo(1L);
+        assertThat(cache.get("b")).isNull();
+        assertThat(cache.size()).isEqualTo(2);
+    }
+
+    @Test
+    void dropsLookupsThatStartedBeforeAnInvalidation() {
+        PlayerIdCache cache = new PlayerIdCache(10);
+        long stamp = cache.stamp();
+        cache.invalidate("a");
+        cache.put("a", 1L, stamp);
+
+        assertThat(cache.get("a")).isNull();
+    }
+}
@@ -1,19 +1,39 @@
 package blackjack.service;
 
+import blackjack.domain.mongo.Settlement;
 import blackjack.domain.mysql.Player;
+import blackjack.domain.mysql.PlayerDelta;
 import blackjack.domain.mysql.PlayerRepository;
+import blackjack.domain.mysql.RankingSort;
+import blackjack.domain.mysql.SettlementRepository;
+import blackjack.dto.RankingPage;
 import blackjack.exception.BadRequestException;
 import blackjack.exception.NotFoundException;
+import blackjack.model.Money;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -22,19 +42,87 @@ class PlayerServiceTest {
     @Mock
     PlayerRepository repo;
 
+    @Mock
+    SettlementRepository settlements;
+
+    @Mock
+    TransactionalOperator transactions;
+
+    @Mock
+    Leaderboard leaderboard;
+
+    @Spy
+    PlayerIdCache ids = new PlayerIdCache(100);
+
+    @Spy
+    BlackjackMetrics metrics = new BlackjackMetrics(new SimpleMeterRegistry());
+
     @InjectMocks
     PlayerService service;
 
     @Test
-    void recordLoss_insufficientBalance() {
-        Player p = Player.of("Bob");
-        p.setId(1L);
-        p.setBalance(BigDecimal.ZERO);
+    void settle_mergesEachPlayersGamesIntoOneUpdate() {
+        passThroughTransaction();
+        when(settlements.findStatuses(List.of("g1", "g2", "g3"))).thenReturn(Mono.just(Map.of()));
+        when(settlements.insertAll(any())).thenReturn(Mono.empty());
+        when(repo.applyAll(List.of(
+                new PlayerDelta(1L, 1, 1, Money.of(-9)),
+                new PlayerDelta(2L, 1, 0, Money.ONE)))).thenReturn(Mono.just(List.of(1L, 1L)));
 
-        when(repo.findById(1L)).thenReturn(Mono.just(p));
+        Map<String, Settlement.Status> statuses = service.settle(List.of(
+                new SettlementCommand("g1", 1L, true, Money.ONE),
+                new SettlementCommand("g2", 2L, true, Money.ONE),
+                new SettlementCommand("g3", 1L, false, Money.of(10)))).block();
 
-        assertThatThrownBy(() -> service.recordLoss(1L, BigDecimal.TEN).block())
-                .isInstanceOf(BadRequestException.class);
+        assertThat(statuses).containsExactly(entry("g1", Settlement.Status.APPLIED),
+                entry("g2", Settlement.Status.APPLIED), entry("g3", Settlement.Status.APPLIED));
+        verify(settlements).insertAll(argThat(records -> records.size() == 3));
+        verify(repo, never()).applyWin(any(), any());
+        verify(leaderboard).onLoss(1L, Money.of(10));
+    }
+
+    @Test
+    void settle_rejectsLossBeyondBalanceAndUnknownPlayer() {
+        passThroughTransaction();
+        when(settlements.findStatuses(any())).thenReturn(Mono.just(Map.of()));
+        when(settlements.insertAll(any())).thenReturn(Mono.empty());
+        when(repo.applyAll(any())).thenReturn(Mono.just(List.of(0L, 0L)));
+        // Player 1's win still fits once the loss it cannot cover is left out
+        when(repo.applyWin(1L, Money.ONE)).thenReturn(Mono.just(1));
+        when(repo.applyLoss(1L, Money.of(10))).thenReturn(Mono.just(0));
+        when(repo.applyWin(99L, Money.ONE)).thenReturn(Mono.just(0));
+        when(settlements.markRejected(any())).thenReturn(Mono.just(1));
+
+        Map<String, Settlement.Status> statuses = service.settle(List.of(
+                new SettlementCommand("g1", 1L, true, Money.ONE),
+                new SettlementCommand("g2", 1L, false, Money.of(10)),
+                new SettlementCommand("g3", 99L, true, Money.ONE))).block();
+
+        assertThat(statuses).containsExactly(entry("g1", Settlement.Status.APPLIED),
+                entry("g2", Settlement.Status.REJECTED), entry("g3", Settlement.Status.REJECTED));
+        verify(leaderboard).onWin(1L, Money.ONE);
+        verify(leaderboard, never()).onWin(99L, Money.ONE);
+    }
+
+    @Test
+    void settle_appliesEachGameOnce() {
+        passThroughTransaction();
+        when(settlements.findStatuses(List.of("g1")))
+                .thenReturn(Mono.just(Map.of()), Mono.just(Map.of("g1", "APPLIED")));
+        when(settlements.insertAll(any())).thenReturn(Mono.empty());
+        when(repo.applyAll(any())).thenReturn(Mono.just(List.of(1L)), Mono.just(List.of()));
+        SettlementCommand win = new SettlementCommand("g1", 1L, true, Money.ONE);
+
+        assertThat(service.settle(List.of(win, win)).block()).containsExactly(entry("g1", Settlement.Status.APPLIED));
+        assertThat(service.settle(List.of(win)).block()).containsExactly(entry("g1", Settlement.Status.APPLIED));
+
+        verify(repo).applyAll(List.of(new PlayerDelta(1L, 1, 0, Money.ONE)));
+        verify(repo).applyAll(List.of());
+        verify(leaderboard, times(1)).onWin(1L, Money.ONE);
+    }
+
+    private void passThroughTransaction() {
+        when(transactions.transactional(any(Mono.class))).thenAnswer(inv -> inv.getArgument(0));
     }
 
     @Test
@@ -44,4 +132,52 @@ class PlayerServiceTest {
         assertThatThrownBy(() -> service.changeName(99L, "x").block())
                 .isInstanceOf(NotFoundException.class);
     }
+
+    @Test
+    void rankingPage_cursorResumesAfterLastPlayer() {
+        Player a = new Player(1L, "a", 5, 3, 2, Money.parse("120.50"), Instant.now());
+        Player b = new Player(2L, "b", 5, 1, 4, Money.parse("80.00"), Instant.now());
+        Player c = new Player(3L, "c", 5, 0, 5, Money.parse("80.00"), Instant.now());
+        when(repo.findRankingPage(RankingSort.BALANCE, null, null, 3)).thenReturn(Flux.just(a, b, c));
+        when(repo.findRankingPage(RankingSort.BALANCE, new BigDecimal("80.00"), 2L, 3)).thenReturn(Flux.just(c));
+
+        RankingPage first = service.rankingPage("balance", null, 2).block();
+        assertThat(first.getPlayers()).extracting("id").containsExactly(1L, 2L);
+        assertThat(first.getNext()).isNotNull();
+
+        RankingPage second = service.rankingPage("BALANCE", first.getNext(), 2).block();
+        assertThat(second.getPlayers()).extracting("id").containsExactly(3L);
+        assertThat(second.getNext()).isNull();
+    }
+
+    @Test
+    void rankingPage_rejectsCursorOfAnotherSort() {
+        when(repo.findRankingPage(RankingSort.WINS, null, null, 2))
+                .thenReturn(Flux.just(new Player(1L, "a", 1, 1, 0, Money.of(10), Instant.now()),
+                        new Player(2L, "b", 1, 1, 0, Money.of(10), Instant.now())));
+        String next = service.rankingPage("WINS", null, 1).block().getNext();
+
+        assertThatThrownBy(() -> service.rankingPage("GAMES_PLAYED", next, 1).block())
+                .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> service.rankingPage("WINS", "not-a-cursor", 1).block())
+                .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> service.rankingPage("LOSSES", null, 1).block())
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    @Test
+    void findOrCreateId_cachesUntilRenamed() {
+        when(repo.upsertIdByName("Alice")).thenReturn(Mono.just(7L));
+        Player alice = new Player(7L, "Alice", 0, 0, 0, Money.of(10), Instant.now());
+        when(repo.findById(7L)).thenReturn(Mono.just(alice));
+        when(repo.save(any())).thenAnswer(inv -> Mono.just(inv.getArgument(0)));
+
+        assertThat(service.findOrCreateId("Alice").block()).isEqualTo(7L);
+        assertThat(service.findOrCreateId("Alice").block()).isEqualTo(7L);
+        verify(repo, times(1)).upsertIdByName("Alice");
+
+        service.changeName(7L, "Alicia").block();
+        service.findOrCreateId("Alice").block();
+        verify(repo, times(2)).upsertIdByName("Alice");
+    }
 }
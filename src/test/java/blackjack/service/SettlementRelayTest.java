@@ -0,0 +1,120 @@
+package blackjack.service;
+
+import blackjack.domain.mongo.Game;
+import blackjack.domain.mongo.Settlement;
+import blackjack.model.Money;
+import blackjack.util.GameMother;
+import com.mongodb.bulk.BulkWriteResult;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.ReactiveBulkOperations;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SettlementRelayTest {
+
+    @Mock
+    ReactiveMongoTemplate mongo;
+
+    @Mock
+    PlayerService players;
+
+    @Mock
+    ReactiveBulkOperations bulk;
+
+    @Test
+    void settlesAFailedBatchGameByGameAndParksGamesThatKeepFailing() {
+        Game ok = GameMother.playerWinsStand("g1", 1L);
+        ok.setSettlement(new Settlement(true, Money.ONE));
+        Game lastTry = GameMother.playerWinsStand("g2", 2L);
+        lastTry.setSettlement(new Settlement(true, Money.ONE));
+        lastTry.getSettlement().setAttempts(4);
+        Game firstTry = GameMother.playerWinsStand("g3", 3L);
+        firstTry.setSettlement(new Settlement(true, Money.ONE));
+        ArgumentCaptor<Query> read = ArgumentCaptor.forClass(Query.class);
+        when(mongo.find(read.capture(), eq(Game.class))).thenReturn(Flux.just(ok, lastTry, firstTry));
+        when(players.settle(any())).thenAnswer(inv -> {
+            List<SettlementCommand> commands = inv.getArgument(0);
+            return commands.size() == 1 && commands.get(0).gameId().equals("g1")
+                    ? Mono.just(Map.of("g1", Settlement.Status.APPLIED))
+                    : Mono.error(new IllegalStateException("boom"));
+        });
+        when(mongo.bulkOps(BulkOperations.BulkMode.UNORDERED, Game.class)).thenReturn(bulk);
+        when(bulk.execute()).thenReturn(Mono.just(BulkWriteResult.unacknowledged()));
+
+        SettlementRelay relay = new SettlementRelay(mongo, players, Duration.ofSeconds(1), 10, 5);
+        assertThat(relay.relayAll().block()).isEqualTo(2L);
+
+        assertThat(read.getValue().getSortObject()).isEqualTo(new Document("_id", 1));
+        verify(players, times(4)).settle(any());
+        ArgumentCaptor<Update> marks = ArgumentCaptor.forClass(Update.class);
+        verify(bulk, times(3)).updateOne(any(Query.class), marks.capture());
+        assertThat(marks.getAllValues()).extracting(u -> u.getUpdateObject().get("$set", Document.class))
+                .containsExactly(new Document(SettlementRelay.STATUS, Settlement.Status.APPLIED),
+                        new Document(SettlementRelay.ATTEMPTS, 5).append(SettlementRelay.STATUS, Settlement.Status.FAILED),
+                        new Document(SettlementRelay.ATTEMPTS, 1));
+    }
+
+    @Test
+    void leavesGamesWithoutAStatusPendingAndStops() {
+        Game won = GameMother.playerWinsStand("g1", 1L);
+        won.setSettlement(new Settlement(true, Money.ONE));
+        Game other = GameMother.playerWinsStand("g2", 2L);
+        other.setSettlement(new Settlement(true, Money.ONE));
+        when(mongo.find(any(Query.class), eq(Game.class))).thenReturn(Flux.just(won, other));
+        when(players.settle(any())).thenReturn(Mono.just(Map.of("g2", Settlement.Status.APPLIED)));
+        when(mongo.bulkOps(BulkOperations.BulkMode.UNORDERED, Game.class)).thenReturn(bulk);
+        when(bulk.execute()).thenReturn(Mono.just(BulkWriteResult.unacknowledged()));
+
+        SettlementRelay relay = new SettlementRelay(mongo, players, Duration.ofSeconds(1), 2, 5);
+        assertThat(relay.relayAll().block()).isEqualTo(1L);
+
+        ArgumentCaptor<Query> marked = ArgumentCaptor.forClass(Query.class);
+        verify(bulk, times(1)).updateOne(marked.capture(), any(Update.class));
+        assertThat(marked.getValue().getQueryObject().get("_id")).isEqualTo("g2");
+    }
+
+    @Test
+    void appliesPendingSettlementsAndMarksEachWithItsStatus() {
+        Game won = GameMother.playerWinsStand("g1", 1L);
+        won.setSettlement(new Settlement(true, Money.ONE));
+        Game lost = GameMother.bustFinished("g2", 2L);
+        lost.setSettlement(new Settlement(false, Money.of(10)));
+        when(mongo.find(any(Query.class), eq(Game.class))).thenReturn(Flux.just(won, lost));
+        when(players.settle(List.of(
+                new SettlementCommand("g1", 1L, true, Money.ONE),
+                new SettlementCommand("g2", 2L, false, Money.of(10)))))
+                .thenReturn(Mono.just(Map.of("g1", Settlement.Status.APPLIED, "g2", Settlement.Status.REJECTED)));
+        when(mongo.bulkOps(BulkOperations.BulkMode.UNORDERED, Game.class)).thenReturn(bulk);
+        when(bulk.execute()).thenReturn(Mono.just(BulkWriteResult.unacknowledged()));
+
+        SettlementRelay relay = new SettlementRelay(mongo, players, Duration.ofSeconds(1), 10, 5);
+        assertThat(relay.relayAll().block()).isEqualTo(2L);
+
+        ArgumentCaptor<Update> marks = ArgumentCaptor.forClass(Update.class);
+        verify(bulk, times(2)).updateOne(any(Query.class), marks.capture());
+        assertThat(marks.getAllValues()).extracting(u -> u.getUpdateObject().get("$set", Document.class)
+                        .get(SettlementRelay.STATUS))
+                .containsExactly(Settlement.Status.APPLIED, Settlement.Status.REJECTED);
+    }
+}
@@ -0,0 +1,59 @@
+package blackjack.service;
+
+import blackjack.dto.SimulationReport;
+import blackjack.dto.SimulationRequest;
+import blackjack.exception.BadRequestException;
+import blackjack.model.Outcome;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class SimulationServiceTest {
+
+    private final SimulationService service = new SimulationService(1_000_000, 4, 1, Duration.ofMillis(10));
+
+    @AfterEach
+    void tearDown() {
+        service.stop();
+    }
+
+    private static SimulationRequest request(long hands, long seed) {
+        SimulationRequest req = new SimulationRequest();
+        req.setHands(hands);
+        req.setSeed(seed);
+        return req;
+    }
+
+    @Test
+    void lastReportHoldsResultsForEveryHand() {
+        SimulationReport last = service.run(request(200_000, 42)).blockLast();
+
+        assertThat(last.isDone()).isTrue();
+        assertThat(last.getHandsPlayed()).isEqualTo(200_000);
+        assertThat(last.getOutcomes().values().stream().mapToDouble(Double::doubleValue).sum()).isCloseTo(1.0, within(1e-9));
+        // Mimicking the dealer costs the player roughly 5% of each bet
+        assertThat(last.getExpectedValue()).isBetween(-0.09, -0.02);
+        assertThat(last.getOutcomes().get(Outcome.PLAYER_BLACKJACK)).isBetween(0.04, 0.05);
+    }
+
+    @Test
+    void sameSeedGivesSameResult() {
+        SimulationReport a = service.run(request(120_000, 7)).blockLast();
+        SimulationReport b = service.run(request(120_000, 7)).blockLast();
+
+        assertThat(a.getExpectedValue()).isEqualTo(b.getExpectedValue());
+        assertThat(a.getOutcomes()).isEqualTo(b.getOutcomes());
+    }
+
+    @Test
+    void tooManyHandsIsRejected() {
+        StepVerifier.create(service.run(request(2_000_000, 1)))
+                .expectError(BadRequestException.class)
+                .verify();
+    }
+}
@@ -0,0 +1,66 @@
+package blackjack.service;
+
+import blackjack.domain.mongo.Game;
+import blackjack.domain.mongo.PlayerStats;
+import blackjack.dto.PlayerStatistics;
+import blackjack.model.Money;
+import blackjack.util.GameMother;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StatisticsServiceTest {
+
+    @Test
+    void incrementsCountTheOutcomeBustAndDouble() {
+        Game doubledWin = GameMother.playerWinsStand("g1", 1L);
+        doubledWin.setDoubled(true);
+        doubledWin.setBet(Money.of(4));
+
+        Document inc = (Document) StatisticsService.increments(doubledWin).getUpdateObject().get("$inc");
+        assertThat(inc).containsEntry("games", 1)
+                .containsEntry("wins", 1)
+                .containsEntry("doubles", 1)
+                .containsEntry("doubleWins", 1)
+                .containsEntry("totalBetCents", 400L)
+                .doesNotContainKeys("busts", "losses", "blackjacks");
+
+        Game bust = GameMother.bustFinished("g2", 1L);
+        Document bustInc = (Document) StatisticsService.increments(bust).getUpdateObject().get("$inc");
+        assertThat(bustInc).containsEntry("losses", 1).containsEntry("busts", 1).doesNotContainKey("doubles");
+    }
+
+    @Test
+    void rebuildGroupsLiveAndArchivedGamesIntoTheRollups() {
+        List<Document> stages = StatisticsService.rebuildPipeline(7L).toPipeline(Aggregation.DEFAULT_CONTEXT);
+
+        assertThat(stages).extracting(d -> d.keySet().iterator().next())
+                .containsExactly("$match", "$project", "$unionWith", "$group", "$merge");
+        Document union = (Document) stages.get(2).get("$unionWith");
+        assertThat(union.getString("coll")).isEqualTo("games_archive");
+        Document group = (Document) stages.get(3).get("$group");
+        assertThat(group.get("_id")).isEqualTo("$playerId");
+        assertThat(group).containsKeys("games", "blackjacks", "busts", "doubleWins", "totalBetCents");
+    }
+
+    @Test
+    void ratesAreShareOfGamesOrOfDoubles() {
+        PlayerStats s = new PlayerStats(1L);
+        s.setGames(8);
+        s.setBlackjacks(2);
+        s.setBusts(1);
+        s.setDoubles(4);
+        s.setDoubleWins(1);
+        s.setTotalBetCents(2000);
+
+        PlayerStatistics r = PlayerStatistics.from(s);
+        assertThat(r.getBlackjackRate()).isEqualTo(25.0);
+        assertThat(r.getBustRate()).isEqualTo(12.5);
+        assertThat(r.getDoubleWinRate()).isEqualTo(25.0);
+        assertThat(r.getAverageBet()).isEqualTo(Money.parse("2.50"));
+    }
+}
@@ -3,9 +3,10 @@ package blackjack.util;
 import blackjack.domain.mongo.Game;
 import blackjack.model.Card;
 import blackjack.model.GameStatus;
+import blackjack.model.Money;
 import blackjack.model.Outcome;
+import blackjack.model.Shoe;
 
-import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -14,22 +15,23 @@ public class GameMother {
     public static Game startedGame(String id, Long playerId) {
         Game g = new Game();
         g.setId(id);
+        g.setVersion(0L);
         g.setPlayerId(playerId);
-        g.setDeck(new ArrayList<>(List.of(
-                new Card(Card.Suit.CLUBS, Card.Rank.FIVE),
-                new Card(Card.Suit.HEARTS, Card.Rank.SEVEN),
-                new Card(Card.Suit.SPADES, Card.Rank.TWO),
-                new Card(Card.Suit.DIAMONDS, Card.Rank.KING)
+        g.setShoe(Shoe.of(List.of(
+                Card.of(Card.Suit.CLUBS, Card.Rank.FIVE),
+                Card.of(Card.Suit.HEARTS, Card.Rank.SEVEN),
+                Card.of(Card.Suit.SPADES, Card.Rank.TWO),
+                Card.of(Card.Suit.DIAMONDS, Card.Rank.KING)
         )));
         g.setPlayerHand(new ArrayList<>(List.of(
-                new Card(Card.Suit.CLUBS, Card.Rank.EIGHT),
-                new Card(Card.Suit.DIAMONDS, Card.Rank.NINE)
+                Card.of(Card.Suit.CLUBS, Card.Rank.EIGHT),
+                Card.of(Card.Suit.DIAMONDS, Card.Rank.NINE)
         )));
         g.setDealerHand(new ArrayList<>(List.of(
-                new Card(Card.Suit.SPADES, Card.Rank.SEVEN),
-                new Card(Card.Suit.HEARTS, Card.Rank.SIX)
+                Card.of(Card.Suit.SPADES, Card.Rank.SEVEN),
+                Card.of(Card.Suit.HEARTS, Card.Rank.SIX)
         )));
-        g.setBet(BigDecimal.ZERO);
+        g.setBet(Money.ZERO);
         g.setStatus(GameStatus.PLAYER_TURN);
         return g;
     }
@@ -37,41 +39,41 @@ public class GameMother {
     public static Game blackjackOnCreate(String id, Long playerId) {
         Game g = startedGame(id, playerId);
         g.setPlayerHand(List.of(
-                new Card(Card.Suit.CLUBS, Card.Rank.ACE),
-                new Card(Card.Suit.HEARTS, Card.Rank.KING)
+                Card.of(Card.Suit.CLUBS, Card.Rank.ACE),
+                Card.of(Card.Suit.HEARTS, Card.Rank.KING)
         ));
         g.setStatus(GameStatus.FINISHED);
         g.setOutcome(Outcome.PLAYER_BLACKJACK);
-        g.setBet(BigDecimal.ONE);
+        g.setBet(Money.ONE);
         return g;
     }
 
     public static Game bustFinished(String id, Long playerId) {
         Game g = startedGame(id, playerId);
         g.setPlayerHand(List.of(
-                new Card(Card.Suit.CLUBS, Card.Rank.KING),
-                new Card(Card.Suit.HEARTS, Card.Rank.QUEEN),
-                new Card(Card.Suit.DIAMONDS, Card.Rank.FIVE)
+                Card.of(Card.Suit.CLUBS, Card.Rank.KING),
+                Card.of(Card.Suit.HEARTS, Card.Rank.QUEEN),
+                Card.of(Card.Suit.DIAMONDS, Card.Rank.FIVE)
         ));
         g.setStatus(GameStatus.FINISHED);
         g.setOutcome(Outcome.DEALER_WIN);
-        g.setBet(BigDecimal.ONE);
+        g.setBet(Money.ONE);
         return g;
     }
 
     public static Game playerWinsStand(String id, Long playerId) {
         Game g = startedGame(id, playerId);
         g.setPlayerHand(List.of(
-                new Card(Card.Suit.CLUBS, Card.Rank.KING),
-                new Card(Card.Suit.HEARTS, Card.Rank.NINE)
+                Card.of(Card.Suit.CLUBS, Card.Rank.KING),
+                Card.of(Card.Suit.HEARTS, Card.Rank.NINE)
         ));
         g.setDealerHand(List.of(
-                new Card(Card.Suit.SPADES, Card.Rank.SEVEN),
-                new Card(Card.Suit.DIAMONDS, Card.Rank.EIGHT)
+                Card.of(Card.Suit.SPADES, Card.Rank.SEVEN),
+                Card.of(Card.Suit.DIAMONDS, Card.Rank.EIGHT)
         ));
         g.setStatus(GameStatus.FINISHED);
         g.setOutcome(Outcome.PLAYER_WIN);
-        g.setBet(BigDecimal.ONE);
+        g.setBet(Money.ONE);
         return g;
     }
 }